@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.artifactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Module;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks of reading the {@link ReleaseInfo} and modules of synthetic build info files
+ * with different numbers of modules, comparing {@link BuildInfoReader} with binding the
+ * whole file to a {@link BuildInfoResponse}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildInfoReaderBenchmark {
+
+	@Param({ "1000", "10000" })
+	int modules;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private final BuildInfoReader reader = new BuildInfoReader(this.objectMapper);
+
+	private Path buildInfo;
+
+	@Setup
+	public void createBuildInfo() throws IOException {
+		this.buildInfo = Files.createTempFile("build-info", ".json");
+		try (BufferedWriter writer = Files.newBufferedWriter(this.buildInfo)) {
+			writer.write("{\"buildInfo\": {\"version\": \"1.0.1\", \"name\": \"example\", \"number\": \"42\",");
+			writer.write("\"modules\": [");
+			for (int i = 0; i < this.modules; i++) {
+				writer.write((i > 0) ? ",\n" : "\n");
+				writer.write("{\"id\": \"org.example:module-" + i + ":1.0.0\", \"artifacts\": [");
+				String[] types = { "jar", "pom", "module", "jar" };
+				for (int j = 0; j < types.length; j++) {
+					writer.write((j > 0) ? ", " : "");
+					writer.write("{\"type\": \"" + types[j] + "\", \"sha1\": \"" + "a".repeat(40) + "\", \"sha256\": \""
+							+ "b".repeat(64) + "\", \"md5\": \"" + "c".repeat(32) + "\", \"name\": \"module-" + i
+							+ "-1.0.0-" + j + "." + types[j] + "\"}");
+				}
+				writer.write("], \"dependencies\": [{\"id\": \"org.example:dependency:1.0.0\"");
+				writer.write(", \"scopes\": [\"compile\"]}]}");
+			}
+			writer.write("],\n\"statuses\": [{\"status\": \"staged\", \"repository\": \"libs-staging-local\"}]}}");
+		}
+	}
+
+	@TearDown
+	public void deleteBuildInfo() throws IOException {
+		Files.delete(this.buildInfo);
+	}
+
+	@Benchmark
+	public ReleaseInfo bindReleaseInfo() throws IOException {
+		return ReleaseInfo
+			.from(this.objectMapper.readValue(this.buildInfo.toFile(), BuildInfoResponse.class).getBuildInfo());
+	}
+
+	@Benchmark
+	public ReleaseInfo readReleaseInfo() throws IOException {
+		return this.reader.readReleaseInfo(this.buildInfo);
+	}
+
+	@Benchmark
+	public long bindModules() throws IOException {
+		return this.objectMapper.readValue(this.buildInfo.toFile(), BuildInfoResponse.class)
+			.getBuildInfo()
+			.getModules().length;
+	}
+
+	@Benchmark
+	public long readModules() throws IOException {
+		try (Stream<Module> modules = this.reader.modules(this.buildInfo)) {
+			return modules.count();
+		}
+	}
+
+}
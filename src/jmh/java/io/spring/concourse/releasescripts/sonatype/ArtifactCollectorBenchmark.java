@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link ArtifactCollector#collectArtifacts(Path) collecting artifacts}
+ * from trees of different sizes and depths, reading different numbers of directories
+ * concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactCollectorBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	int files;
+
+	@Param({ "2", "6" })
+	int depth;
+
+	@Param({ "1", "8" })
+	int threads;
+
+	private Path root;
+
+	private ArtifactCollector collector;
+
+	@Setup
+	public void createTree() throws IOException {
+		this.root = ArtifactTree.create(this.files, this.depth);
+		this.collector = new ArtifactCollector(List.of("build-info\\.json"), this.threads);
+	}
+
+	@TearDown
+	public void deleteTree() throws IOException {
+		ArtifactTree.delete(this.root);
+	}
+
+	@Benchmark
+	public Collection<DeployableArtifact> collectArtifacts() {
+		return this.collector.collectArtifacts(this.root);
+	}
+
+}
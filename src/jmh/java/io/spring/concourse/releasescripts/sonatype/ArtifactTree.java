@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic tree of artifacts laid out like a Maven repository, for use in benchmarks.
+ */
+final class ArtifactTree {
+
+	private static final String[] EXTENSIONS = { ".jar", ".jar.asc", ".jar.sha1", ".pom", ".pom.asc", ".pom.sha1",
+			"-sources.jar", "-javadoc.jar" };
+
+	private static final int FANOUT = 8;
+
+	private ArtifactTree() {
+	}
+
+	/**
+	 * Returns the relative paths of the given number of artifacts, spread across modules
+	 * nested the given number of directories deep.
+	 * @param files the number of artifacts
+	 * @param depth the number of directories above each module
+	 * @return the paths of the artifacts
+	 */
+	static List<Path> paths(int files, int depth) {
+		List<Path> paths = new ArrayList<>(files);
+		for (int i = 0; i < files; i++) {
+			int module = i / EXTENSIONS.length;
+			Path directory = Path.of("org");
+			for (int level = depth - 1; level >= 0; level--) {
+				directory = directory.resolve("group-" + (int) ((module / Math.pow(FANOUT, level)) % FANOUT));
+			}
+			String name = "module-" + module;
+			paths.add(directory.resolve(name)
+				.resolve("1.0.0")
+				.resolve(name + "-1.0.0" + EXTENSIONS[i % EXTENSIONS.length]));
+		}
+		return paths;
+	}
+
+	/**
+	 * Creates an empty file for each of the given number of artifacts in a new temporary
+	 * directory.
+	 * @param files the number of artifacts
+	 * @param depth the number of directories above each module
+	 * @return the root of the tree
+	 * @throws IOException if the tree cannot be created
+	 */
+	static Path create(int files, int depth) throws IOException {
+		Path root = Files.createTempDirectory("artifacts");
+		for (Path path : paths(files, depth)) {
+			Path artifact = root.resolve(path);
+			Files.createDirectories(artifact.getParent());
+			Files.createFile(artifact);
+		}
+		Files.createFile(root.resolve("build-info.json"));
+		return root;
+	}
+
+	/**
+	 * Deletes the tree with the given root.
+	 * @param root the root of the tree
+	 * @throws IOException if the tree cannot be deleted
+	 */
+	static void delete(Path root) throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the {@link DeployableArtifact#of construction} of a
+ * {@link DeployableArtifact} from a collected file whose attributes have already been
+ * read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeployableArtifactBenchmark {
+
+	private static final int ARTIFACTS = 1000;
+
+	private Path root;
+
+	private List<Path> artifacts;
+
+	private List<BasicFileAttributes> attributes;
+
+	@Setup
+	public void createTree() throws IOException {
+		this.root = ArtifactTree.create(ARTIFACTS, 4);
+		this.artifacts = ArtifactTree.paths(ARTIFACTS, 4).stream().map(this.root::resolve).toList();
+		this.attributes = new ArrayList<>(ARTIFACTS);
+		for (Path artifact : this.artifacts) {
+			this.attributes.add(Files.readAttributes(artifact, BasicFileAttributes.class));
+		}
+	}
+
+	@TearDown
+	public void deleteTree() throws IOException {
+		ArtifactTree.delete(this.root);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ARTIFACTS)
+	public void deployableArtifact(Blackhole blackhole) {
+		for (int i = 0; i < ARTIFACTS; i++) {
+			blackhole.consume(DeployableArtifact.of(this.artifacts.get(i), this.root, this.attributes.get(i)));
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of matching artifacts against an increasing number of
+ * {@link ArtifactCollector#isIncluded(Path) exclude patterns}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcludeFilterBenchmark {
+
+	private static final int ARTIFACTS = 1000;
+
+	@Param({ "1", "10", "50" })
+	int patterns;
+
+	private List<Path> paths;
+
+	private ArtifactCollector collector;
+
+	@Setup
+	public void createCollector() {
+		List<String> exclude = new ArrayList<>();
+		exclude.add("build-info\\.json");
+		for (int i = 1; i < this.patterns; i++) {
+			exclude.add((i % 2 == 0) ? "/module-" + i + "/.*\\.zip" : "excluded-" + i + "-.*\\.jar");
+		}
+		this.collector = new ArtifactCollector(exclude);
+		this.paths = ArtifactTree.paths(ARTIFACTS, 4);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ARTIFACTS)
+	public void isIncluded(Blackhole blackhole) {
+		for (Path path : this.paths) {
+			blackhole.consume(this.collector.isIncluded(path));
+		}
+	}
+
+}
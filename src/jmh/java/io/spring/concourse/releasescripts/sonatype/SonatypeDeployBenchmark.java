@@ -0,0 +1,223 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.standin.StandInServer;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * End-to-end benchmarks of {@link SonatypeService#publish publishing} artifacts over HTTP
+ * to a {@link StandInServer} with different numbers of upload threads and mixes of
+ * artifact sizes. Each operation publishes every artifact of the mix. In addition to the
+ * rate of publishes, the rate of uploaded files and megabytes and the 99th percentile
+ * latency of an upload are reported as secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class SonatypeDeployBenchmark {
+
+	private static final String UPLOAD = "releasescripts.upload";
+
+	@Param({ "1", "4", "8", "16" })
+	int threads;
+
+	@Param({ "small", "mixed", "large" })
+	String mix;
+
+	@Param({ "20" })
+	int latencyMillis;
+
+	private Path root;
+
+	private StandInServer server;
+
+	private SonatypeProperties properties;
+
+	private ReleaseInfo releaseInfo;
+
+	private int files;
+
+	private long bytes;
+
+	private MeterRegistry meterRegistry;
+
+	private SonatypeService service;
+
+	@Setup
+	public void createArtifactsAndServer() throws IOException {
+		this.root = Files.createTempDirectory("artifacts");
+		Random random = new Random(0);
+		int count = switch (this.mix) {
+			case "small" -> 2000;
+			case "mixed" -> 400;
+			case "large" -> 16;
+			default -> throw new IllegalArgumentException("Unknown mix '" + this.mix + "'");
+		};
+		for (int i = 0; i < count; i++) {
+			byte[] content = new byte[size(i)];
+			random.nextBytes(content);
+			Path artifact = this.root
+				.resolve("org/example/module-" + (i / 10) + "/1.0.0/module-" + (i / 10) + "-1.0.0-" + i + ".jar");
+			Files.createDirectories(artifact.getParent());
+			Files.write(artifact, content);
+			this.files++;
+			this.bytes += content.length;
+		}
+		this.server = new StandInServer().withLatency(Duration.ofMillis(this.latencyMillis)).start();
+		this.properties = new SonatypeProperties();
+		this.properties.setUrl(this.server.getUrl());
+		this.properties.setStagingProfile("org.example");
+		this.properties.setUploadThreads(this.threads);
+		this.properties.setMinUploadThreads(this.threads);
+		this.properties.setMaxUploadThreads(this.threads);
+		this.properties.setValidate(false);
+		this.properties.setInitialPollingInterval(Duration.ofMillis(10));
+		this.properties.setPollingInterval(Duration.ofMillis(10));
+		this.releaseInfo = new ReleaseInfo();
+		this.releaseInfo.setBuildName("example-build");
+		this.releaseInfo.setBuildNumber("example-build-1");
+		this.releaseInfo.setVersion("1.0.0");
+		this.releaseInfo.setMarkerArtifact(ReleaseInfo.MarkerArtifact.fromCoordinates("org.example:marker:1.0.0"));
+	}
+
+	private int size(int index) {
+		return switch (this.mix) {
+			case "small" -> 4 * 1024;
+			case "large" -> 8 * 1024 * 1024;
+			default -> (index % 10 == 0) ? 1024 * 1024 : (index % 3 == 0) ? 64 * 1024 : 4 * 1024;
+		};
+	}
+
+	@Setup(Level.Iteration)
+	public void createService() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.meterRegistry.config().meterFilter(new MeterFilter() {
+
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				if (id.getName().equals(UPLOAD)) {
+					return DistributionStatisticConfig.builder()
+						.percentiles(0.99)
+						.expiry(Duration.ofHours(1))
+						.bufferLength(1)
+						.build()
+						.merge(config);
+				}
+				return config;
+			}
+
+		});
+		this.service = new TestServices(this.meterRegistry)
+			.sonatypeService(this.server.restTemplateBuilder(this.threads + 2), this.properties);
+	}
+
+	@TearDown
+	public void deleteArtifactsAndStopServer() throws IOException {
+		this.server.close();
+		FileSystemUtils.deleteRecursively(this.root);
+	}
+
+	@Benchmark
+	public void publish(Uploads uploads, UploadLatency latency) {
+		this.service.publish(this.releaseInfo, this.root);
+		uploads.files += this.files;
+		uploads.megabytes += this.bytes / (1024.0 * 1024.0);
+		latency.p99Millis = p99UploadLatencyMillis();
+	}
+
+	private double p99UploadLatencyMillis() {
+		Timer timer = this.meterRegistry.find(UPLOAD).timer();
+		if (timer == null) {
+			return 0;
+		}
+		for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+			return value.value(TimeUnit.MILLISECONDS);
+		}
+		return 0;
+	}
+
+	/**
+	 * Rates of the files and megabytes uploaded in each iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Uploads {
+
+		public long files;
+
+		public double megabytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.files = 0;
+			this.megabytes = 0;
+		}
+
+	}
+
+	/**
+	 * 99th percentile latency of the uploads made in each iteration.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class UploadLatency {
+
+		public double p99Millis;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.p99Millis = 0;
+		}
+
+	}
+
+}
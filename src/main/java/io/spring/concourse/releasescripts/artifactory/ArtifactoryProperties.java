@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2024 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package io.spring.concourse.releasescripts.artifactory;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -37,6 +39,8 @@ public class ArtifactoryProperties {
 
 	private final Repository repository = new Repository();
 
+	private final Promotion promotion = new Promotion();
+
 	public String getUrl() {
 		return this.url;
 	}
@@ -73,6 +77,10 @@ public class ArtifactoryProperties {
 		return this.repository;
 	}
 
+	public Promotion getPromotion() {
+		return this.promotion;
+	}
+
 	public static class Repository {
 
 		/**
@@ -129,4 +137,119 @@ public class ArtifactoryProperties {
 
 	}
 
+	public static class Promotion {
+
+		/**
+		 * Mode in which builds are promoted.
+		 */
+		private PromotionMode mode = PromotionMode.SYNCHRONOUS;
+
+		/**
+		 * Whether the status of a build should be checked before it is promoted so that
+		 * the promotion of a build that has already been promoted is not requested.
+		 */
+		private boolean preflight;
+
+		/**
+		 * Whether promotions should only be simulated, using Artifactory's dry run
+		 * support, to detect conflicts without moving any artifacts.
+		 */
+		private boolean dryRun;
+
+		/**
+		 * Maximum time to wait for the response to a promotion request in asynchronous
+		 * mode before polling the status of the build.
+		 */
+		private Duration requestTimeout = Duration.ofSeconds(30);
+
+		/**
+		 * Initial time between requests made to determine if an asynchronous promotion
+		 * has completed. The time grows exponentially, with jitter, up to the polling
+		 * interval.
+		 */
+		private Duration initialPollingInterval = Duration.ofSeconds(1);
+
+		/**
+		 * Maximum time between requests made to determine if an asynchronous promotion
+		 * has completed.
+		 */
+		private Duration pollingInterval = Duration.ofSeconds(15);
+
+		/**
+		 * Maximum time to wait for an asynchronous promotion to complete.
+		 */
+		private Duration pollingTimeout = Duration.ofHours(1);
+
+		/**
+		 * Maximum number of builds that are promoted concurrently when promoting several
+		 * builds.
+		 */
+		private int concurrency = 4;
+
+		public PromotionMode getMode() {
+			return this.mode;
+		}
+
+		public void setMode(PromotionMode mode) {
+			this.mode = mode;
+		}
+
+		public boolean isPreflight() {
+			return this.preflight;
+		}
+
+		public void setPreflight(boolean preflight) {
+			this.preflight = preflight;
+		}
+
+		public boolean isDryRun() {
+			return this.dryRun;
+		}
+
+		public void setDryRun(boolean dryRun) {
+			this.dryRun = dryRun;
+		}
+
+		public Duration getRequestTimeout() {
+			return this.requestTimeout;
+		}
+
+		public void setRequestTimeout(Duration requestTimeout) {
+			this.requestTimeout = requestTimeout;
+		}
+
+		public Duration getInitialPollingInterval() {
+			return this.initialPollingInterval;
+		}
+
+		public void setInitialPollingInterval(Duration initialPollingInterval) {
+			this.initialPollingInterval = initialPollingInterval;
+		}
+
+		public Duration getPollingInterval() {
+			return this.pollingInterval;
+		}
+
+		public void setPollingInterval(Duration pollingInterval) {
+			this.pollingInterval = pollingInterval;
+		}
+
+		public Duration getPollingTimeout() {
+			return this.pollingTimeout;
+		}
+
+		public void setPollingTimeout(Duration pollingTimeout) {
+			this.pollingTimeout = pollingTimeout;
+		}
+
+		public int getConcurrency() {
+			return this.concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2024 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,41 @@
 
 package io.spring.concourse.releasescripts.artifactory;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import io.spring.concourse.releasescripts.ReleaseInfo;
 import io.spring.concourse.releasescripts.ReleaseType;
-import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse;
+import io.spring.concourse.releasescripts.artifactory.BuildInfoReader.BuildStatus;
 import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Status;
 import io.spring.concourse.releasescripts.artifactory.payload.PromotionRequest;
+import io.spring.concourse.releasescripts.metrics.PhaseTimer;
+import io.spring.concourse.releasescripts.support.Backoff;
+import io.spring.concourse.releasescripts.support.Poller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -56,7 +76,24 @@ public class ArtifactoryService {
 
 	private final String project;
 
-	public ArtifactoryService(RestTemplateBuilder builder, ArtifactoryProperties artifactoryProperties) {
+	private final PhaseTimer phaseTimer;
+
+	private final PromotionMode promotionMode;
+
+	private final boolean preflight;
+
+	private final boolean dryRun;
+
+	private final Duration promotionRequestTimeout;
+
+	private final Poller promotionPoller;
+
+	private final BuildInfoReader buildInfoReader = new BuildInfoReader(Jackson2ObjectMapperBuilder.json().build());
+
+	private final Counter promotedArtifacts;
+
+	public ArtifactoryService(RestTemplateBuilder builder, ArtifactoryProperties artifactoryProperties,
+			ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<ObservationRegistry> observationRegistry) {
 		String username = artifactoryProperties.getUsername();
 		String password = artifactoryProperties.getPassword();
 		if (StringUtils.hasLength(username)) {
@@ -68,31 +105,68 @@ public class ArtifactoryService {
 		this.repositories = new Repositories(repository.getStaging(), repository.getMilestone(),
 				repository.getReleaseCandidate(), repository.getRelease());
 		this.restTemplate = builder.build();
+		this.phaseTimer = new PhaseTimer(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+				"artifactory");
+		ArtifactoryProperties.Promotion promotion = artifactoryProperties.getPromotion();
+		this.promotionMode = promotion.getMode();
+		this.preflight = promotion.isPreflight();
+		this.dryRun = promotion.isDryRun();
+		this.promotionRequestTimeout = promotion.getRequestTimeout();
+		Duration pollingInterval = promotion.getPollingInterval();
+		Duration initialPollingInterval = promotion.getInitialPollingInterval();
+		this.promotionPoller = new Poller(new Backoff(
+				(initialPollingInterval.compareTo(pollingInterval) < 0) ? initialPollingInterval : pollingInterval,
+				pollingInterval), promotion.getPollingTimeout());
+		this.promotedArtifacts = Counter.builder("releasescripts.promotion.artifacts")
+			.description("Artifacts promoted by asynchronous promotions")
+			.tag("service", "artifactory")
+			.register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
 	}
 
 	/**
 	 * Move artifacts to a target repository in Artifactory.
 	 * @param releaseType the release type
 	 * @param releaseInfo the release information
+	 * @return the result of the promotion
 	 */
-	public void promote(ReleaseType releaseType, ReleaseInfo releaseInfo) {
+	public PromotionResult promote(ReleaseType releaseType, ReleaseInfo releaseInfo) {
+		return this.phaseTimer.record("promote", () -> doPromote(releaseType, releaseInfo));
+	}
+
+	private PromotionResult doPromote(ReleaseType releaseType, ReleaseInfo releaseInfo) {
 		PromotionRequest request = getPromotionRequest(this.repositories.forReleaseType(releaseType));
 		String buildName = releaseInfo.getBuildName();
 		String buildNumber = releaseInfo.getBuildNumber();
-		logger.info("Promoting " + buildName + "/" + buildNumber + " to " + request.getTargetRepo());
+		if (this.preflight && isAlreadyPromoted(buildName, buildNumber, request.getTargetRepo())) {
+			logger.info("Already promoted.");
+			return PromotionResult.ALREADY_PROMOTED;
+		}
+		logger.info(((this.dryRun) ? "Simulating promotion of " : "Promoting ") + buildName + "/" + buildNumber + " to "
+				+ request.getTargetRepo());
 		RequestEntity<PromotionRequest> requestEntity = RequestEntity
-			.post(this.rootUri + PROMOTION_URL + buildName + "/" + buildNumber
-					+ ((this.project != null) ? ("?project=" + this.project) : ""))
+			.post(this.rootUri + PROMOTION_URL + "{buildName}/{buildNumber}" + projectQuery(), buildName, buildNumber,
+					this.project)
 			.contentType(MediaType.APPLICATION_JSON)
 			.body(request);
+		if (this.promotionMode == PromotionMode.ASYNCHRONOUS && !this.dryRun) {
+			return promoteAsynchronously(requestEntity, buildName, buildNumber, request.getTargetRepo());
+		}
+		long start = System.nanoTime();
 		try {
 			this.restTemplate.exchange(requestEntity, String.class);
 			logger.debug("Promotion complete");
+			if (this.dryRun) {
+				return PromotionResult.DRY_RUN;
+			}
+			logger.info("Promoted {}/{} to {} in {} ms", buildName, buildNumber, request.getTargetRepo(),
+					Duration.ofNanos(System.nanoTime() - start).toMillis());
+			return PromotionResult.PROMOTED;
 		}
 		catch (HttpClientErrorException ex) {
 			boolean isAlreadyPromoted = isAlreadyPromoted(buildName, buildNumber, request.getTargetRepo());
 			if (isAlreadyPromoted) {
 				logger.info("Already promoted.");
+				return PromotionResult.ALREADY_PROMOTED;
 			}
 			else {
 				logger.info("Promotion failed.");
@@ -101,31 +175,144 @@ public class ArtifactoryService {
 		}
 	}
 
-	private boolean isAlreadyPromoted(String buildName, String buildNumber, String targetRepo) {
+	/**
+	 * Sends the promotion request without waiting longer than the request timeout for its
+	 * response. The promotion's completion is then confirmed by polling the status of the
+	 * build, which allows promotions that outlive the connection, for example because a
+	 * load balancer closes it, to complete. A request that is rejected with a client error
+	 * while the build is in the target repository means that the build had already been
+	 * promoted. A server error is rethrown even if the build is in the target repository.
+	 */
+	private PromotionResult promoteAsynchronously(RequestEntity<PromotionRequest> requestEntity, String buildName,
+			String buildNumber, String targetRepo) {
+		long start = System.nanoTime();
+		CompletableFuture<ResponseEntity<String>> response = CompletableFuture
+			.supplyAsync(() -> this.restTemplate.exchange(requestEntity, String.class), (task) -> {
+				Thread thread = new Thread(task, "artifactory-promotion");
+				thread.setDaemon(true);
+				thread.start();
+			});
+		awaitResponse(response);
+		BuildStatus buildStatus = this.promotionPoller.poll("Promotion of " + buildName + "/" + buildNumber,
+				() -> getBuildStatus(buildName, buildNumber),
+				(status) -> isPromotedTo(status, targetRepo) || isSettled(response));
+		boolean rejected = isSettled(response) && response.isCompletedExceptionally();
+		if (!isPromotedTo(buildStatus, targetRepo)) {
+			join(response, "Promotion failed.");
+			buildStatus = getBuildStatus(buildName, buildNumber);
+		}
+		if (rejected) {
+			if (failureOf(response) instanceof HttpClientErrorException) {
+				logger.info("Already promoted.");
+				return PromotionResult.ALREADY_PROMOTED;
+			}
+			join(response, "Promotion failed with a server error although the build is in " + targetRepo + ".");
+		}
+		int artifacts = (buildStatus != null) ? buildStatus.artifacts() : 0;
+		this.promotedArtifacts.increment(artifacts);
+		logger.info("Promoted {} artifacts of {}/{} to {} in {} ms", artifacts, buildName, buildNumber, targetRepo,
+				Duration.ofNanos(System.nanoTime() - start).toMillis());
+		return PromotionResult.PROMOTED;
+	}
+
+	private void join(CompletableFuture<ResponseEntity<String>> response, String failureMessage) {
 		try {
-			logger.debug("Checking if already promoted");
-			ResponseEntity<BuildInfoResponse> entity = this.restTemplate
-				.getForEntity(
-						this.rootUri + BUILD_INFO_URL + buildName + "/" + buildNumber
-								+ ((this.project != null) ? ("?project=" + this.project) : ""),
-						BuildInfoResponse.class);
-			Status[] statuses = entity.getBody().getBuildInfo().getStatuses();
-			Status status = (statuses != null) ? statuses[0] : null;
-			if (status == null) {
-				logger.debug("Returned no status object");
-				return false;
+			response.join();
+		}
+		catch (CompletionException ex) {
+			logger.info(failureMessage);
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
 			}
-			logger.debug("Returned repository " + status.getRepository() + " expecting " + targetRepo);
-			return status.getRepository().equals(targetRepo);
+			throw ex;
+		}
+	}
+
+	private void awaitResponse(CompletableFuture<ResponseEntity<String>> response) {
+		try {
+			response.get(this.promotionRequestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+			logger.debug("Promotion request complete");
+		}
+		catch (TimeoutException ex) {
+			logger.info("No response to promotion request within {}. Polling build status",
+					this.promotionRequestTimeout);
+		}
+		catch (ExecutionException ex) {
+			logger.info("Promotion request failed ({}). Polling build status", ex.getCause().getMessage());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for promotion", ex);
+		}
+	}
+
+	/**
+	 * Returns whether the response to the promotion request is final. A request that
+	 * failed with an I/O error or a gateway error is not final as the promotion may still
+	 * be in progress.
+	 */
+	private boolean isSettled(CompletableFuture<ResponseEntity<String>> response) {
+		if (!response.isDone()) {
+			return false;
+		}
+		Throwable failure = failureOf(response);
+		if (failure instanceof ResourceAccessException) {
+			return false;
+		}
+		if (failure instanceof HttpServerErrorException serverError) {
+			int status = serverError.getStatusCode().value();
+			return status != 502 && status != 503 && status != 504;
+		}
+		return true;
+	}
+
+	private Throwable failureOf(CompletableFuture<ResponseEntity<String>> response) {
+		Throwable failure = response.handle((entity, ex) -> ex).join();
+		return (failure instanceof CompletionException) ? failure.getCause() : failure;
+	}
+
+	/**
+	 * Returns the status of the build, read from the build info without binding its
+	 * modules so that polling the status of a large build remains cheap.
+	 */
+	private BuildStatus getBuildStatus(String buildName, String buildNumber) {
+		try {
+			return this.restTemplate.execute(
+					this.rootUri + BUILD_INFO_URL + "{buildName}/{buildNumber}" + projectQuery(), HttpMethod.GET,
+					(request) -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+					(response) -> this.buildInfoReader.readBuildStatus(response.getBody()), buildName, buildNumber,
+					this.project);
 		}
 		catch (HttpClientErrorException ex) {
-			logger.debug("Client error, assuming not promoted");
+			logger.debug("Client error while fetching build status");
+			return null;
+		}
+	}
+
+	private boolean isPromotedTo(BuildStatus buildStatus, String targetRepo) {
+		return isPromotedTo((buildStatus != null) ? buildStatus.statuses() : null, targetRepo);
+	}
+
+	private boolean isPromotedTo(Status[] statuses, String targetRepo) {
+		if (statuses == null || statuses.length == 0) {
+			logger.debug("Returned no status object");
 			return false;
 		}
+		logger.debug("Returned repository " + statuses[0].getRepository() + " expecting " + targetRepo);
+		return targetRepo.equals(statuses[0].getRepository());
+	}
+
+	private boolean isAlreadyPromoted(String buildName, String buildNumber, String targetRepo) {
+		logger.debug("Checking if already promoted");
+		return isPromotedTo(getBuildStatus(buildName, buildNumber), targetRepo);
+	}
+
+	private String projectQuery() {
+		return (this.project != null) ? "?project={project}" : "";
 	}
 
 	private PromotionRequest getPromotionRequest(String targetRepo) {
-		return new PromotionRequest("staged", this.repositories.staging(), targetRepo);
+		return new PromotionRequest("staged", this.repositories.staging(), targetRepo, this.dryRun);
 	}
 
 	private record Repositories(String staging, String milestone, String releaseCandidate, String release) {
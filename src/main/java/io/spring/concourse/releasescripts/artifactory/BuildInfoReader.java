@@ -0,0 +1,342 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.artifactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Artifact;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Module;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Status;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Streaming reader of Artifactory build info files. Unlike binding a file to a
+ * {@link BuildInfoResponse}, the reader does not hold the build's modules in memory,
+ * which keeps the time and heap needed to read build info files with thousands of modules
+ * low.
+ */
+public class BuildInfoReader {
+
+	private final ObjectMapper objectMapper;
+
+	private final ObjectReader moduleReader;
+
+	private final ObjectReader statusesReader;
+
+	public BuildInfoReader(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.moduleReader = objectMapper.readerFor(Module.class);
+		this.statusesReader = objectMapper.readerFor(Status[].class);
+	}
+
+	/**
+	 * Reads the {@link ReleaseInfo} of the build described by the given build info file,
+	 * as {@link ReleaseInfo#from} would. Reading stops as soon as the build's name and
+	 * number, its first module, and its first module with a jar artifact have been read.
+	 * @param buildInfo the build info file
+	 * @return the release info
+	 * @throws IOException if the file cannot be read
+	 */
+	public ReleaseInfo readReleaseInfo(Path buildInfo) throws IOException {
+		try (JsonParser parser = createParser(buildInfo)) {
+			ReleaseInfoBuilder builder = new ReleaseInfoBuilder();
+			moveToBuildInfo(parser);
+			while (!builder.isComplete() && parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if (field.equals("name") && value.isScalarValue()) {
+					builder.name = parser.getValueAsString();
+				}
+				else if (field.equals("number") && value.isScalarValue()) {
+					builder.number = parser.getValueAsString();
+				}
+				else if (field.equals("modules") && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						if (builder.isComplete()) {
+							return builder.build();
+						}
+						if (builder.markerModuleId != null) {
+							parser.skipChildren();
+						}
+						else {
+							readModule(parser, builder);
+						}
+					}
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+			return builder.build();
+		}
+	}
+
+	private void readModule(JsonParser parser, ReleaseInfoBuilder builder) throws IOException {
+		String id = null;
+		boolean hasJar = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if (field.equals("id") && value.isScalarValue()) {
+				id = parser.getValueAsString();
+			}
+			else if (field.equals("artifacts") && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					hasJar |= readArtifactType(parser).equals("jar");
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		builder.module(id, hasJar);
+	}
+
+	private String readArtifactType(JsonParser parser) throws IOException {
+		String type = "";
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if (field.equals("type") && value.isScalarValue()) {
+				type = parser.getValueAsString();
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		return type;
+	}
+
+	/**
+	 * Reads the {@link BuildStatus} of the build described by the given build info, such
+	 * as the body of a response from Artifactory's build info API. The build's statuses
+	 * are bound and its artifacts are counted as the build info is read, without binding
+	 * any of its modules.
+	 * @param buildInfo the build info
+	 * @return the status of the build
+	 * @throws IOException if the build info cannot be read
+	 */
+	public BuildStatus readBuildStatus(InputStream buildInfo) throws IOException {
+		try (JsonParser parser = this.objectMapper.getFactory().createParser(buildInfo)) {
+			moveToBuildInfo(parser);
+			Status[] statuses = null;
+			int artifacts = 0;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if (field.equals("statuses") && value == JsonToken.START_ARRAY) {
+					statuses = this.statusesReader.readValue(parser);
+				}
+				else if (field.equals("modules") && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						artifacts += countArtifacts(parser);
+					}
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+			return new BuildStatus(statuses, artifacts);
+		}
+	}
+
+	private int countArtifacts(JsonParser parser) throws IOException {
+		int count = 0;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if (field.equals("artifacts") && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					parser.skipChildren();
+					count++;
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a lazy view of the modules of the build described by the given build info
+	 * file. Each module is read as the stream is consumed. The stream must be closed once
+	 * it is no longer needed.
+	 * @param buildInfo the build info file
+	 * @return a stream of the build's modules
+	 * @throws IOException if the file cannot be read
+	 */
+	public Stream<Module> modules(Path buildInfo) throws IOException {
+		JsonParser parser = createParser(buildInfo);
+		try {
+			moveToModules(parser);
+		}
+		catch (IOException | RuntimeException ex) {
+			parser.close();
+			throw ex;
+		}
+		return StreamSupport.stream(new ModuleSpliterator(parser), false).onClose(() -> close(parser));
+	}
+
+	/**
+	 * Returns a lazy view of the artifacts of the modules of the build described by the
+	 * given build info file. The stream must be closed once it is no longer needed.
+	 * @param buildInfo the build info file
+	 * @return a stream of the build's artifacts
+	 * @throws IOException if the file cannot be read
+	 */
+	public Stream<Artifact> artifacts(Path buildInfo) throws IOException {
+		return modules(buildInfo)
+			.flatMap((module) -> (module.getArtifacts() != null) ? Stream.of(module.getArtifacts()) : Stream.empty());
+	}
+
+	private JsonParser createParser(Path buildInfo) throws IOException {
+		return this.objectMapper.getFactory().createParser(buildInfo.toFile());
+	}
+
+	private void moveToBuildInfo(JsonParser parser) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Build info must be a JSON object");
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			if (parser.nextToken() == JsonToken.START_OBJECT && field.equals("buildInfo")) {
+				return;
+			}
+			parser.skipChildren();
+		}
+		throw new IOException("Build info does not contain a 'buildInfo' object");
+	}
+
+	private void moveToModules(JsonParser parser) throws IOException {
+		moveToBuildInfo(parser);
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			if (parser.nextToken() == JsonToken.START_ARRAY && field.equals("modules")) {
+				return;
+			}
+			parser.skipChildren();
+		}
+		parser.close();
+	}
+
+	private static void close(JsonParser parser) {
+		try {
+			parser.close();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * The status of a build.
+	 *
+	 * @param statuses the build's statuses or {@code null} if it has none
+	 * @param artifacts the number of artifacts in the build's modules
+	 */
+	public record BuildStatus(Status[] statuses, int artifacts) {
+
+	}
+
+	/**
+	 * Collects the parts of the build info from which a {@link ReleaseInfo} is created.
+	 */
+	private static final class ReleaseInfoBuilder {
+
+		private String name;
+
+		private String number;
+
+		private String firstModuleId;
+
+		private String markerModuleId;
+
+		void module(String id, boolean hasJar) {
+			if (this.firstModuleId == null) {
+				this.firstModuleId = id;
+			}
+			if (hasJar && this.markerModuleId == null) {
+				this.markerModuleId = id;
+			}
+		}
+
+		boolean isComplete() {
+			return this.name != null && this.number != null && this.markerModuleId != null;
+		}
+
+		ReleaseInfo build() {
+			if (this.markerModuleId == null) {
+				throw new IllegalStateException("Could not find Jar module in build info: " + this.number);
+			}
+			ReleaseInfo info = new ReleaseInfo();
+			info.setBuildName(this.name);
+			info.setBuildNumber(this.number);
+			String[] moduleInfo = StringUtils.delimitedListToStringArray(this.firstModuleId, ":");
+			info.setGroupId(moduleInfo[0]);
+			info.setVersion(moduleInfo[2]);
+			info.setMarkerArtifact(ReleaseInfo.MarkerArtifact.fromCoordinates(this.markerModuleId));
+			return info;
+		}
+
+	}
+
+	/**
+	 * {@link Spliterator} that binds each element of a {@code modules} array to a
+	 * {@link Module} as it is advanced.
+	 */
+	private final class ModuleSpliterator extends Spliterators.AbstractSpliterator<Module> {
+
+		private final JsonParser parser;
+
+		ModuleSpliterator(JsonParser parser) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.parser = parser;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Module> action) {
+			try {
+				if (this.parser.isClosed() || this.parser.nextToken() != JsonToken.START_OBJECT) {
+					return false;
+				}
+				action.accept(BuildInfoReader.this.moduleReader.readValue(this.parser));
+				return true;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+	}
+
+}
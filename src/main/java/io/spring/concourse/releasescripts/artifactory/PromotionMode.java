@@ -0,0 +1,35 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.artifactory;
+
+/**
+ * Modes in which a build is promoted in Artifactory.
+ */
+public enum PromotionMode {
+
+	/**
+	 * Wait for the response to the promotion request.
+	 */
+	SYNCHRONOUS,
+
+	/**
+	 * Wait for the response to the promotion request for a limited time and then confirm
+	 * the promotion's completion by polling the status of the build.
+	 */
+	ASYNCHRONOUS
+
+}
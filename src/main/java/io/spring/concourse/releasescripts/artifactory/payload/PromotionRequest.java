@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2019 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package io.spring.concourse.releasescripts.artifactory.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Represents a request to promote artifacts from a sourceRepo to a targetRepo.
  *
@@ -29,10 +31,18 @@ public class PromotionRequest {
 
 	private final String targetRepo;
 
+	@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+	private final boolean dryRun;
+
 	public PromotionRequest(String status, String sourceRepo, String targetRepo) {
+		this(status, sourceRepo, targetRepo, false);
+	}
+
+	public PromotionRequest(String status, String sourceRepo, String targetRepo, boolean dryRun) {
 		this.status = status;
 		this.sourceRepo = sourceRepo;
 		this.targetRepo = targetRepo;
+		this.dryRun = dryRun;
 	}
 
 	public String getTargetRepo() {
@@ -47,4 +57,8 @@ public class PromotionRequest {
 		return this.status;
 	}
 
+	public boolean isDryRun() {
+		return this.dryRun;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2023 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,10 @@ package io.spring.concourse.releasescripts.command;
 import java.util.Collections;
 import java.util.List;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.spring.concourse.releasescripts.metrics.MetricsExporter;
+import io.spring.concourse.releasescripts.trace.TraceRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,8 +43,18 @@ public class CommandProcessor implements ApplicationRunner {
 
 	private final List<Command> commands;
 
-	public CommandProcessor(List<Command> commands) {
+	private final ObservationRegistry observationRegistry;
+
+	private final MetricsExporter metricsExporter;
+
+	private final TraceRecorder traceRecorder;
+
+	public CommandProcessor(List<Command> commands, ObservationRegistry observationRegistry,
+			MetricsExporter metricsExporter, TraceRecorder traceRecorder) {
 		this.commands = Collections.unmodifiableList(commands);
+		this.observationRegistry = observationRegistry;
+		this.metricsExporter = metricsExporter;
+		this.traceRecorder = traceRecorder;
 	}
 
 	@Override
@@ -54,7 +68,16 @@ public class CommandProcessor implements ApplicationRunner {
 			.findFirst()
 			.orElseThrow(() -> new IllegalStateException("Unknown command '" + request + "'"));
 		logger.debug("Found command " + command.getClass().getName());
-		command.run(args);
+		Observation observation = Observation.createNotStarted("releasescripts.command", this.observationRegistry)
+			.contextualName(command.getName())
+			.lowCardinalityKeyValue("command", command.getName());
+		try {
+			observation.observeChecked(() -> command.run(args));
+		}
+		finally {
+			this.metricsExporter.export();
+			this.traceRecorder.export();
+		}
 	}
 
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.ReleaseType;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryProperties;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryService;
+import io.spring.concourse.releasescripts.artifactory.BuildInfoReader;
+import io.spring.concourse.releasescripts.artifactory.PromotionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Command used to move the artifacts of several builds, such as those of a release train,
+ * to a target repository in Artifactory. Each argument after the release type is a build
+ * info file or a directory of {@code .json} build info files. The builds are promoted
+ * concurrently and a summary of their promotion is logged once all of them have
+ * completed.
+ */
+@Component
+public class PromoteAllCommand implements Command {
+
+	private static final Logger logger = LoggerFactory.getLogger(PromoteAllCommand.class);
+
+	private final ArtifactoryService service;
+
+	private final BuildInfoReader buildInfoReader;
+
+	private final int concurrency;
+
+	public PromoteAllCommand(ArtifactoryService service, ObjectMapper objectMapper,
+			ArtifactoryProperties artifactoryProperties) {
+		this.service = service;
+		this.buildInfoReader = new BuildInfoReader(objectMapper);
+		this.concurrency = artifactoryProperties.getPromotion().getConcurrency();
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		logger.debug("Running 'promote all' command");
+		List<String> nonOptionArgs = args.getNonOptionArgs();
+		Assert.state(!nonOptionArgs.isEmpty(), "No command argument specified");
+		Assert.state(nonOptionArgs.size() >= 3, "Release type or build info locations not specified");
+		Assert.state(this.concurrency > 0, "Promotion concurrency must be greater than zero");
+		ReleaseType type = ReleaseType.from(nonOptionArgs.get(1));
+		List<Path> buildInfoFiles = findBuildInfoFiles(nonOptionArgs.subList(2, nonOptionArgs.size()));
+		Assert.state(!buildInfoFiles.isEmpty(), "No build info files found");
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.concurrency, buildInfoFiles.size()));
+		try {
+			List<Future<Promotion>> futures = new ArrayList<>();
+			for (Path buildInfoFile : buildInfoFiles) {
+				futures.add(executor.submit(() -> promote(type, buildInfoFile)));
+			}
+			List<Promotion> promotions = new ArrayList<>();
+			for (Future<Promotion> future : futures) {
+				promotions.add(getPromotion(future));
+			}
+			summarize(promotions);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<Path> findBuildInfoFiles(List<String> locations) throws IOException {
+		List<Path> buildInfoFiles = new ArrayList<>();
+		for (String location : locations) {
+			Path path = Path.of(location);
+			if (Files.isDirectory(path)) {
+				try (Stream<Path> files = Files.list(path)) {
+					files.filter((file) -> file.getFileName().toString().endsWith(".json"))
+						.filter(Files::isRegularFile)
+						.sorted()
+						.forEach(buildInfoFiles::add);
+				}
+			}
+			else {
+				buildInfoFiles.add(path);
+			}
+		}
+		return buildInfoFiles;
+	}
+
+	private Promotion promote(ReleaseType type, Path buildInfoFile) {
+		long start = System.nanoTime();
+		String build = buildInfoFile.toString();
+		try {
+			ReleaseInfo releaseInfo = this.buildInfoReader.readReleaseInfo(buildInfoFile);
+			build = releaseInfo.getBuildName() + "/" + releaseInfo.getBuildNumber();
+			PromotionResult result = this.service.promote(type, releaseInfo);
+			return new Promotion(build, result, Duration.ofNanos(System.nanoTime() - start), null);
+		}
+		catch (Exception ex) {
+			logger.error("Promotion of " + build + " failed", ex);
+			return new Promotion(build, null, Duration.ofNanos(System.nanoTime() - start), ex);
+		}
+	}
+
+	private Promotion getPromotion(Future<Promotion> future) throws InterruptedException {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException ex) {
+			throw new IllegalStateException("Promotion failed unexpectedly", ex.getCause());
+		}
+	}
+
+	private void summarize(List<Promotion> promotions) {
+		StringBuilder summary = new StringBuilder("Promotion summary:");
+		List<Exception> failures = new ArrayList<>();
+		for (Promotion promotion : promotions) {
+			summary.append(String.format("%n  %-60s %-16s %6d ms", promotion.build(), promotion.outcome(),
+					promotion.duration().toMillis()));
+			if (promotion.failure() != null) {
+				failures.add(promotion.failure());
+			}
+		}
+		logger.info(summary.toString());
+		if (!failures.isEmpty()) {
+			IllegalStateException ex = new IllegalStateException(
+					"Promotion of " + failures.size() + " of " + promotions.size() + " builds failed", failures.get(0));
+			failures.subList(1, failures.size()).forEach(ex::addSuppressed);
+			throw ex;
+		}
+	}
+
+	private record Promotion(String build, PromotionResult result, Duration duration, Exception failure) {
+
+		String outcome() {
+			return (this.failure != null) ? "FAILED" : this.result.name();
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2020 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,14 @@
 
 package io.spring.concourse.releasescripts.command;
 
-import java.io.File;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.spring.concourse.releasescripts.ReleaseInfo;
 import io.spring.concourse.releasescripts.ReleaseType;
 import io.spring.concourse.releasescripts.artifactory.ArtifactoryService;
-import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse;
+import io.spring.concourse.releasescripts.artifactory.BuildInfoReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,11 +43,11 @@ public class PromoteCommand implements Command {
 
 	private final ArtifactoryService service;
 
-	private final ObjectMapper objectMapper;
+	private final BuildInfoReader buildInfoReader;
 
 	public PromoteCommand(ArtifactoryService service, ObjectMapper objectMapper) {
 		this.service = service;
-		this.objectMapper = objectMapper;
+		this.buildInfoReader = new BuildInfoReader(objectMapper);
 	}
 
 	@Override
@@ -60,9 +59,7 @@ public class PromoteCommand implements Command {
 		String releaseType = nonOptionArgs.get(1);
 		ReleaseType type = ReleaseType.from(releaseType);
 		String buildInfoLocation = nonOptionArgs.get(2);
-		byte[] content = Files.readAllBytes(new File(buildInfoLocation).toPath());
-		BuildInfoResponse buildInfoResponse = this.objectMapper.readValue(new String(content), BuildInfoResponse.class);
-		ReleaseInfo releaseInfo = ReleaseInfo.from(buildInfoResponse.getBuildInfo());
+		ReleaseInfo releaseInfo = this.buildInfoReader.readReleaseInfo(Path.of(buildInfoLocation));
 		this.service.promote(type, releaseInfo);
 	}
 
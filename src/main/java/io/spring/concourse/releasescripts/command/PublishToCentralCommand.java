@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2023 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,14 +17,13 @@
 package io.spring.concourse.releasescripts.command;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.spring.concourse.releasescripts.ReleaseInfo;
 import io.spring.concourse.releasescripts.ReleaseType;
-import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse;
-import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.BuildInfo;
+import io.spring.concourse.releasescripts.artifactory.BuildInfoReader;
 import io.spring.concourse.releasescripts.sonatype.SonatypeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,11 +43,11 @@ public class PublishToCentralCommand implements Command {
 
 	private final SonatypeService sonatype;
 
-	private final ObjectMapper objectMapper;
+	private final BuildInfoReader buildInfoReader;
 
 	public PublishToCentralCommand(SonatypeService sonatype, ObjectMapper objectMapper) {
 		this.sonatype = sonatype;
-		this.objectMapper = objectMapper;
+		this.buildInfoReader = new BuildInfoReader(objectMapper);
 	}
 
 	@Override
@@ -63,11 +62,9 @@ public class PublishToCentralCommand implements Command {
 		}
 		String buildInfoLocation = nonOptionArgs.get(2);
 		logger.debug("Loading build-info from " + buildInfoLocation);
-		byte[] content = Files.readAllBytes(new File(buildInfoLocation).toPath());
-		BuildInfoResponse buildInfoResponse = this.objectMapper.readValue(content, BuildInfoResponse.class);
-		BuildInfo buildInfo = buildInfoResponse.getBuildInfo();
+		ReleaseInfo releaseInfo = this.buildInfoReader.readReleaseInfo(Path.of(buildInfoLocation));
 		String artifactsLocation = nonOptionArgs.get(3);
-		this.sonatype.publish(ReleaseInfo.from(buildInfo), new File(artifactsLocation).toPath());
+		this.sonatype.publish(releaseInfo, new File(artifactsLocation).toPath());
 	}
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.http;
+
+import java.net.URI;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * {@link HttpComponentsClientHttpRequestFactory} that associates each request that it
+ * creates with the {@link AbortableRequests} of the current thread, if any, so that the
+ * request can be aborted by another thread.
+ */
+public class AbortableClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+	public AbortableClientHttpRequestFactory(HttpClient httpClient) {
+		super(httpClient);
+	}
+
+	@Override
+	protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+		ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+		if (request instanceof Cancellable cancellable) {
+			AbortableRequests.register(cancellable);
+		}
+		return request;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.http;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+/**
+ * The requests made by a unit of work, such as the upload of an artifact, that can be
+ * aborted by another thread. A request is associated with the unit of work when it is
+ * created by an {@link AbortableClientHttpRequestFactory} on the thread that is running
+ * the work. Aborting the requests closes their connections, releasing a thread that is
+ * blocked sending a request or awaiting its response irrespective of the read timeout.
+ */
+public final class AbortableRequests {
+
+	private static final ThreadLocal<AbortableRequests> current = new ThreadLocal<>();
+
+	private final Set<Cancellable> requests = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean aborted;
+
+	/**
+	 * Runs the given work, associating the requests that it makes with this instance.
+	 * @param work the work to run
+	 */
+	public void run(Runnable work) {
+		AbortableRequests previous = current.get();
+		current.set(this);
+		try {
+			work.run();
+		}
+		finally {
+			if (previous != null) {
+				current.set(previous);
+			}
+			else {
+				current.remove();
+			}
+		}
+	}
+
+	/**
+	 * Aborts the requests that have been made and any that are made subsequently.
+	 */
+	public void abort() {
+		this.aborted = true;
+		this.requests.forEach(Cancellable::cancel);
+	}
+
+	static void register(Cancellable request) {
+		AbortableRequests requests = current.get();
+		if (requests != null) {
+			requests.requests.add(request);
+			if (requests.aborted) {
+				request.cancel();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.http;
+
+import io.spring.concourse.releasescripts.sonatype.SonatypeProperties;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Configuration for the pooled, keep-alive HTTP client that is shared by the
+ * {@link RestTemplateBuilder} used by all services. The client's own retries are disabled
+ * as the services apply their own retry policies.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HttpClientConfiguration {
+
+	/**
+	 * Number of connections, in addition to those used for uploads, that are required for
+	 * the staging requests made while uploads are in progress.
+	 */
+	private static final int ADDITIONAL_CONNECTIONS = 2;
+
+	/**
+	 * Number of hosts, Sonatype, Artifactory and SDKMAN, that share the connection pool.
+	 */
+	private static final int HOSTS = 3;
+
+	@Bean(destroyMethod = "close")
+	CloseableHttpClient httpClient(HttpClientProperties properties, SonatypeProperties sonatypeProperties) {
+		int maxConnectionsPerHost = (properties.getMaxConnectionsPerHost() != null)
+				? properties.getMaxConnectionsPerHost()
+				: sonatypeProperties.getMaxUploadThreads() + ADDITIONAL_CONNECTIONS;
+		Timeout readTimeout = (properties.getReadTimeout() != null) ? Timeout.of(properties.getReadTimeout())
+				: Timeout.DISABLED;
+		ConnectionConfig connectionConfig = ConnectionConfig.custom()
+			.setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+			.setSocketTimeout(readTimeout)
+			.build();
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+			.setMaxConnPerRoute(maxConnectionsPerHost)
+			.setMaxConnTotal(maxConnectionsPerHost * HOSTS)
+			.setDefaultConnectionConfig(connectionConfig)
+			.build();
+		RequestConfig requestConfig = RequestConfig.custom().setResponseTimeout(readTimeout).build();
+		return HttpClients.custom()
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(requestConfig)
+			.evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+			.evictExpiredConnections()
+			.disableAutomaticRetries()
+			.build();
+	}
+
+	@Bean
+	RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer, CloseableHttpClient httpClient) {
+		return configurer.configure(new RestTemplateBuilder()).requestFactory(() -> requestFactory(httpClient));
+	}
+
+	private static HttpComponentsClientHttpRequestFactory requestFactory(CloseableHttpClient httpClient) {
+		HttpComponentsClientHttpRequestFactory requestFactory = new AbortableClientHttpRequestFactory(httpClient);
+		requestFactory.setBufferRequestBody(false);
+		return requestFactory;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the {@link MeterRegistry} that records the metrics of a release and
+ * for the {@link ObservationRegistry} that is used to observe the phases of a release and
+ * the HTTP requests made by every {@code RestTemplate}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+	/**
+	 * Name of the timer of the HTTP requests made by every {@code RestTemplate}.
+	 */
+	static final String HTTP_CLIENT_REQUESTS = "http.client.requests";
+
+	@Bean
+	PrometheusMeterRegistry meterRegistry() {
+		PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		registry.config().meterFilter(new MeterFilter() {
+
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				if (id.getName().equals(HTTP_CLIENT_REQUESTS)) {
+					return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+				}
+				return config;
+			}
+
+		});
+		return registry;
+	}
+
+	@Bean
+	ObservationRegistry observationRegistry(MeterRegistry meterRegistry,
+			ObjectProvider<ObservationHandler<?>> observationHandlers) {
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+		observationHandlers.orderedStream().forEach(registry.observationConfig()::observationHandler);
+		return registry;
+	}
+
+	@Bean
+	RestTemplateCustomizer observationRestTemplateCustomizer(ObservationRegistry observationRegistry) {
+		return (restTemplate) -> restTemplate.setObservationRegistry(observationRegistry);
+	}
+
+}
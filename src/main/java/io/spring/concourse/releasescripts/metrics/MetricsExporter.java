@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the metrics recorded while running a command to a file so that they can be
+ * archived as an output of the task that ran it.
+ */
+@Component
+public class MetricsExporter {
+
+	private static final Logger logger = LoggerFactory.getLogger(MetricsExporter.class);
+
+	private final PrometheusMeterRegistry registry;
+
+	private final ObjectMapper objectMapper;
+
+	private final MetricsProperties properties;
+
+	public MetricsExporter(PrometheusMeterRegistry registry, ObjectMapper objectMapper, MetricsProperties properties) {
+		this.registry = registry;
+		this.objectMapper = objectMapper;
+		this.properties = properties;
+	}
+
+	/**
+	 * Writes the metrics to the configured file, if any. A failure to write the metrics
+	 * is logged rather than thrown so that it does not affect the outcome of the command.
+	 */
+	public void export() {
+		Path file = this.properties.getFile();
+		if (file == null) {
+			return;
+		}
+		try {
+			Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			switch (this.properties.getFormat()) {
+				case JSON -> this.objectMapper.writerWithDefaultPrettyPrinter()
+					.writeValue(file.toFile(), Map.of("meters", describeMeters()));
+				case PROMETHEUS -> Files.writeString(file, this.registry.scrape(), StandardCharsets.UTF_8);
+			}
+			logger.info("Metrics written to {}", file);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write metrics to '{}'", file, ex);
+		}
+	}
+
+	private List<Map<String, Object>> describeMeters() {
+		List<Meter> meters = new ArrayList<>(this.registry.getMeters());
+		meters.sort(Comparator.comparing((Meter meter) -> meter.getId().getName())
+			.thenComparing((meter) -> meter.getId().getTags().toString()));
+		return meters.stream().map(this::describe).toList();
+	}
+
+	private Map<String, Object> describe(Meter meter) {
+		Meter.Id id = meter.getId();
+		Map<String, Object> description = new LinkedHashMap<>();
+		description.put("name", id.getName());
+		description.put("type", id.getType().name().toLowerCase());
+		description.put("baseUnit", id.getBaseUnit());
+		Map<String, String> tags = new LinkedHashMap<>();
+		for (Tag tag : id.getTagsAsIterable()) {
+			tags.put(tag.getKey(), tag.getValue());
+		}
+		description.put("tags", tags);
+		Map<String, Double> measurements = new LinkedHashMap<>();
+		for (Measurement measurement : meter.measure()) {
+			measurements.put(measurement.getStatistic().name().toLowerCase(), measurement.getValue());
+		}
+		description.put("measurements", measurements);
+		List<Bucket> histogram = histogram(meter);
+		if (!histogram.isEmpty()) {
+			description.put("histogram", histogram);
+		}
+		return description;
+	}
+
+	private List<Bucket> histogram(Meter meter) {
+		List<Bucket> buckets = new ArrayList<>();
+		if (meter instanceof Timer timer) {
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			for (CountAtBucket bucket : snapshot.histogramCounts()) {
+				buckets.add(new Bucket(bucket.bucket(TimeUnit.SECONDS), bucket.count()));
+			}
+		}
+		else if (meter instanceof DistributionSummary summary) {
+			HistogramSnapshot snapshot = summary.takeSnapshot();
+			for (CountAtBucket bucket : snapshot.histogramCounts()) {
+				buckets.add(new Bucket(bucket.bucket(), bucket.count()));
+			}
+		}
+		return buckets;
+	}
+
+	private record Bucket(double le, double count) {
+
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.metrics;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@link ConfigurationProperties @ConfigurationProperties} for the export of metrics.
+ */
+@ConfigurationProperties(prefix = "metrics")
+public class MetricsProperties {
+
+	/**
+	 * Location of the file to which metrics are written when the command exits. When not
+	 * set, metrics are not written.
+	 */
+	private Path file;
+
+	/**
+	 * Format in which metrics are written.
+	 */
+	private MetricsFormat format = MetricsFormat.JSON;
+
+	public Path getFile() {
+		return this.file;
+	}
+
+	public void setFile(Path file) {
+		this.file = file;
+	}
+
+	public MetricsFormat getFormat() {
+		return this.format;
+	}
+
+	public void setFormat(MetricsFormat format) {
+		this.format = format;
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.metrics;
+
+import java.util.function.Supplier;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observes each phase of a release, such as the collection, deployment, or promotion of
+ * artifacts, as a {@code releasescripts.phase} observation tagged with the service, the
+ * phase, and the outcome. The observation is recorded as a timer and, when tracing is
+ * enabled, as a span.
+ */
+public class PhaseTimer {
+
+	private static final String PHASE = "releasescripts.phase";
+
+	private final ObservationRegistry registry;
+
+	private final String service;
+
+	public PhaseTimer(ObservationRegistry registry, String service) {
+		this.registry = registry;
+		this.service = service;
+	}
+
+	/**
+	 * Performs the given phase, recording the time that it takes.
+	 * @param phase the name of the phase
+	 * @param action the action that performs the phase
+	 */
+	public void record(String phase, Runnable action) {
+		record(phase, () -> {
+			action.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Performs the given phase, recording the time that it takes.
+	 * @param <T> the type of the phase's result
+	 * @param phase the name of the phase
+	 * @param action the action that performs the phase
+	 * @return the result of the phase
+	 */
+	public <T> T record(String phase, Supplier<T> action) {
+		Observation observation = Observation.createNotStarted(PHASE, this.registry)
+			.contextualName(this.service + " " + phase)
+			.lowCardinalityKeyValue("service", this.service)
+			.lowCardinalityKeyValue("phase", phase)
+			.lowCardinalityKeyValue("outcome", "failure");
+		return observation.observe(() -> {
+			T result = action.get();
+			observation.lowCardinalityKeyValue("outcome", "success");
+			return result;
+		});
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2023 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,11 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class SdkmanProperties {
 
+	/**
+	 * URL of the SDKMAN! vendor API.
+	 */
+	private String url = "https://vendors.sdkman.io";
+
 	private String consumerKey;
 
 	private String consumerToken;
@@ -42,6 +47,14 @@ public class SdkmanProperties {
 
 	private String broadcastUrl;
 
+	public String getUrl() {
+		return this.url;
+	}
+
+	public void setUrl(String url) {
+		this.url = url;
+	}
+
 	public String getConsumerKey() {
 		return this.consumerKey;
 	}
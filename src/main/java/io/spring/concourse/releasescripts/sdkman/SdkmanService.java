@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2023 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,12 @@
 
 package io.spring.concourse.releasescripts.sdkman;
 
-import java.net.URI;
-
+import io.micrometer.observation.ObservationRegistry;
+import io.spring.concourse.releasescripts.metrics.PhaseTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
@@ -39,8 +40,6 @@ public class SdkmanService {
 
 	private static final Logger logger = LoggerFactory.getLogger(SdkmanService.class);
 
-	private static final String SDKMAN_URL = "https://vendors.sdkman.io/";
-
 	private static final String DOWNLOAD_BASE_URL = "https://repo.maven.apache.org/maven2/";
 
 	private final RestTemplate restTemplate;
@@ -51,24 +50,29 @@ public class SdkmanService {
 
 	private final String CONSUMER_TOKEN_HEADER = "Consumer-Token";
 
-	public SdkmanService(RestTemplateBuilder builder, SdkmanProperties properties) {
+	private final PhaseTimer phaseTimer;
+
+	public SdkmanService(RestTemplateBuilder builder, SdkmanProperties properties,
+			ObjectProvider<ObservationRegistry> observationRegistry) {
 		this.restTemplate = builder.build();
 		this.properties = properties;
+		this.phaseTimer = new PhaseTimer(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP), "sdkman");
 	}
 
 	public void publish(String version, boolean makeDefault) {
-		release(version);
+		this.phaseTimer.record("release", () -> release(version));
 		if (makeDefault) {
-			makeDefault(version);
+			this.phaseTimer.record("default", () -> makeDefault(version));
 		}
-		broadcast(version);
+		this.phaseTimer.record("broadcast", () -> broadcast(version));
 	}
 
 	private void broadcast(String version) {
 		String url = this.properties.getBroadcastUrl();
 		BroadcastRequest broadcastRequest = new BroadcastRequest(this.properties.getCandidate(), version,
 				(url != null) ? String.format(url, version) : null);
-		RequestEntity<BroadcastRequest> broadcastEntity = RequestEntity.post(URI.create(SDKMAN_URL + "announce/struct"))
+		RequestEntity<BroadcastRequest> broadcastEntity = RequestEntity
+			.post(this.properties.getUrl() + "/announce/struct")
 			.header(this.CONSUMER_KEY_HEADER, this.properties.getConsumerKey())
 			.header(this.CONSUMER_TOKEN_HEADER, this.properties.getConsumerToken())
 			.contentType(MediaType.APPLICATION_JSON)
@@ -80,7 +84,7 @@ public class SdkmanService {
 	private void makeDefault(String version) {
 		logger.debug("Making this version the default");
 		Request request = new Request(this.properties.getCandidate(), version);
-		RequestEntity<Request> requestEntity = RequestEntity.put(URI.create(SDKMAN_URL + "default"))
+		RequestEntity<Request> requestEntity = RequestEntity.put(this.properties.getUrl() + "/default")
 			.header(this.CONSUMER_KEY_HEADER, this.properties.getConsumerKey())
 			.header(this.CONSUMER_TOKEN_HEADER, this.properties.getConsumerToken())
 			.contentType(MediaType.APPLICATION_JSON)
@@ -93,7 +97,7 @@ public class SdkmanService {
 		Artifact artifact = Artifact.parseCoordinates(this.properties.getArtifact());
 		ReleaseRequest releaseRequest = new ReleaseRequest(this.properties.getCandidate(), version,
 				DOWNLOAD_BASE_URL + artifact.buildArtifactPath(version));
-		RequestEntity<ReleaseRequest> releaseEntity = RequestEntity.post(URI.create(SDKMAN_URL + "release"))
+		RequestEntity<ReleaseRequest> releaseEntity = RequestEntity.post(this.properties.getUrl() + "/release")
 			.header(this.CONSUMER_KEY_HEADER, this.properties.getConsumerKey())
 			.header(this.CONSUMER_TOKEN_HEADER, this.properties.getConsumerToken())
 			.contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Additive-increase/multiplicative-decrease (AIMD) limit on the number of concurrent
+ * uploads. The limit grows by roughly one for each window of successful uploads whose
+ * latency remains stable, shrinks slightly when latency rises and is halved when the
+ * server reports that it is overloaded. The limit is halved at most once for each burst
+ * of overload failures: failures of uploads that started before the last halving are
+ * ignored. The limit is always kept between the configured minimum and maximum.
+ */
+class AdaptiveConcurrencyLimit {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimit.class);
+
+	private static final double OVERLOAD_BACKOFF_RATIO = 0.5;
+
+	private static final double LATENCY_BACKOFF_RATIO = 0.9;
+
+	private static final double LATENCY_TOLERANCE = 2.0;
+
+	private static final double BASELINE_SMOOTHING = 0.05;
+
+	private static final long LATENCY_NORMALIZATION_BYTES = 1024 * 1024;
+
+	private final Object monitor = new Object();
+
+	private final int minimum;
+
+	private final int maximum;
+
+	private double limit;
+
+	private int inFlight;
+
+	private double baselineLatency = -1;
+
+	private long generation;
+
+	AdaptiveConcurrencyLimit(int initial, int minimum, int maximum) {
+		this.minimum = Math.max(1, minimum);
+		this.maximum = Math.max(this.minimum, maximum);
+		this.limit = clamp(initial);
+		logger.info("Upload concurrency limit starting at {} (min {}, max {})", getLimit(), this.minimum, this.maximum);
+	}
+
+	/**
+	 * Waits until the number of in-flight uploads is below the current limit and then
+	 * reserves a slot for a new upload.
+	 * @param timeout the maximum time to wait
+	 * @return {@code true} if a slot was reserved, or {@code false} if the timeout
+	 * elapsed first
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	boolean acquire(Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		synchronized (this.monitor) {
+			while (this.inFlight >= getLimit()) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return false;
+				}
+				this.monitor.wait(Math.max(1, remaining / 1_000_000));
+			}
+			this.inFlight++;
+			return true;
+		}
+	}
+
+	/**
+	 * Releases a slot following a successful upload, adjusting the limit according to the
+	 * upload's latency.
+	 * @param elapsedNanos the time taken by the upload
+	 * @param bytes the number of bytes that were uploaded
+	 */
+	void success(long elapsedNanos, long bytes) {
+		double latency = elapsedNanos / (1.0 + ((double) bytes / LATENCY_NORMALIZATION_BYTES));
+		synchronized (this.monitor) {
+			boolean utilized = this.inFlight * 2 >= this.limit;
+			release();
+			if (this.baselineLatency < 0 || latency < this.baselineLatency) {
+				this.baselineLatency = latency;
+			}
+			else {
+				this.baselineLatency += (latency - this.baselineLatency) * BASELINE_SMOOTHING;
+			}
+			if (latency > this.baselineLatency * LATENCY_TOLERANCE) {
+				update(this.limit * LATENCY_BACKOFF_RATIO, "latency increased");
+			}
+			else if (utilized) {
+				update(this.limit + 1.0 / this.limit, "latency stable");
+			}
+		}
+	}
+
+	/**
+	 * Releases a slot following an upload that failed because the server is overloaded,
+	 * backing off quickly unless the limit has already been reduced since the upload
+	 * started.
+	 * @param generation the {@link #getGeneration() generation} in which the upload
+	 * started
+	 */
+	void overloaded(long generation) {
+		synchronized (this.monitor) {
+			release();
+			if (generation == this.generation) {
+				this.generation++;
+				update(this.limit * OVERLOAD_BACKOFF_RATIO, "server overloaded");
+			}
+		}
+	}
+
+	/**
+	 * Releases a slot following an upload that failed for reasons that are unrelated to
+	 * the server's load, leaving the limit unchanged.
+	 */
+	void failed() {
+		synchronized (this.monitor) {
+			release();
+		}
+	}
+
+	/**
+	 * Returns the current generation of the limit, which changes each time that the limit
+	 * is reduced because the server is overloaded. Uploads should note the generation
+	 * when they start so that their failure can be {@link #overloaded(long) reported}.
+	 * @return the current generation
+	 */
+	long getGeneration() {
+		synchronized (this.monitor) {
+			return this.generation;
+		}
+	}
+
+	int getLimit() {
+		synchronized (this.monitor) {
+			return (int) this.limit;
+		}
+	}
+
+	private void release() {
+		this.inFlight--;
+		this.monitor.notifyAll();
+	}
+
+	private void update(double limit, String reason) {
+		int previous = (int) this.limit;
+		this.limit = clamp(limit);
+		int current = (int) this.limit;
+		if (current != previous) {
+			logger.info("Upload concurrency limit changed from {} to {} ({})", previous, current, reason);
+		}
+	}
+
+	private double clamp(double limit) {
+		return Math.min(this.maximum, Math.max(this.minimum, limit));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021-2023 the original author or authors.
+ * Copyright 2021-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,53 +17,187 @@
 package io.spring.concourse.releasescripts.sonatype;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import org.springframework.core.io.PathResource;
 
 /**
- * Collects artifacts to be deployed.
+ * Collects artifacts to be deployed. The tree of artifacts is walked concurrently, one
+ * directory per task, reusing the attributes read while listing each directory rather
+ * than reading them again for each file. All exclude patterns are compiled into a single
+ * pattern. A directory is skipped when an exclude pattern shows that every file beneath it
+ * would be excluded, otherwise each of its files is matched in turn.
  *
  * @author Andy Wilkinson
  */
 class ArtifactCollector {
 
-	private final Predicate<Path> excludeFilter;
+	private static final Pattern END_SENSITIVE_CONSTRUCT = Pattern
+		.compile("\\(\\?(?:<?[=!]|>)|\\$|\\\\[bBzZ]|[*+?}]\\+");
+
+	private final Pattern excludePattern;
+
+	private final Pattern prefixExcludePattern;
+
+	private final List<Pattern> otherExcludePatterns;
+
+	private final int threads;
 
 	ArtifactCollector(List<String> exclude) {
-		this.excludeFilter = excludeFilter(exclude);
+		this(exclude, 1);
 	}
 
-	private Predicate<Path> excludeFilter(List<String> exclude) {
-		Predicate<String> patternFilter = exclude.stream()
+	ArtifactCollector(List<String> exclude, int threads) {
+		this.excludePattern = excludePattern(exclude);
+		this.prefixExcludePattern = excludePattern(exclude.stream().filter(ArtifactCollector::isPrefixSafe).toList());
+		this.otherExcludePatterns = exclude.stream()
+			.filter((pattern) -> !isPrefixSafe(pattern))
 			.map(Pattern::compile)
-			.map(Pattern::asPredicate)
-			.reduce((path) -> false, Predicate::or)
-			.negate();
-		return (path) -> patternFilter.test(path.toString());
+			.toList();
+		this.threads = threads;
+	}
+
+	private static Pattern excludePattern(List<String> exclude) {
+		if (exclude.isEmpty()) {
+			return null;
+		}
+		return Pattern
+			.compile(exclude.stream().map((pattern) -> "(?:" + pattern + ")").collect(Collectors.joining("|")));
+	}
+
+	/**
+	 * Returns whether a match of the given pattern in a path is also a match in any path
+	 * that starts with it. This is the case unless the pattern uses a construct whose
+	 * outcome can depend on what follows the end of the input: a lookaround, an atomic
+	 * group, a possessive quantifier, an end anchor or a word boundary.
+	 */
+	private static boolean isPrefixSafe(String pattern) {
+		return !END_SENSITIVE_CONSTRUCT.matcher(pattern).find();
 	}
 
 	Collection<DeployableArtifact> collectArtifacts(Path root) {
-		try (Stream<Path> artifacts = Files.walk(root)) {
-			return artifacts.filter(Files::isRegularFile)
-				.filter(this.excludeFilter)
-				.map((artifact) -> deployableArtifact(artifact, root))
-				.collect(Collectors.toList());
+		ForkJoinPool pool = new ForkJoinPool(this.threads);
+		try {
+			return pool.invoke(new CollectTask(root, root));
 		}
-		catch (IOException ex) {
-			throw new RuntimeException("Could not read artifacts from '" + root + "'");
+		catch (UncheckedIOException ex) {
+			throw new RuntimeException("Could not read artifacts from '" + root + "'", ex.getCause());
+		}
+		finally {
+			pool.shutdown();
 		}
 	}
 
-	private DeployableArtifact deployableArtifact(Path artifact, Path root) {
-		return new DeployableArtifact(new PathResource(artifact), root.relativize(artifact).toString());
+	/**
+	 * Returns whether the given artifact is included, i.e. it does not match any of the
+	 * exclude patterns.
+	 * @param artifact the artifact
+	 * @return {@code true} if the artifact is included
+	 */
+	boolean isIncluded(Path artifact) {
+		return this.excludePattern == null || !this.excludePattern.matcher(artifact.toString()).find();
+	}
+
+	/**
+	 * Returns whether every file beneath the given directory is excluded. This is the
+	 * case when an exclude pattern matches the directory's path followed by a separator
+	 * and the match cannot be lost when more input follows, as a match will then be found
+	 * in the path of every file beneath the directory too. The match cannot be lost if
+	 * the pattern is {@link #isPrefixSafe prefix-safe} or if the match was found without
+	 * reaching the end of the input.
+	 * @param directory the directory
+	 * @return {@code true} if every file beneath the directory is excluded
+	 */
+	boolean isExcludedDirectory(Path directory) {
+		String prefix = directory + directory.getFileSystem().getSeparator();
+		if (this.prefixExcludePattern != null && this.prefixExcludePattern.matcher(prefix).find()) {
+			return true;
+		}
+		for (Pattern pattern : this.otherExcludePatterns) {
+			Matcher matcher = pattern.matcher(prefix);
+			if (matcher.find() && !matcher.hitEnd()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Task that collects the artifacts in a directory, forking a task for each of its
+	 * subdirectories. Artifacts are returned in the order in which they are listed, with
+	 * the artifacts of a subdirectory in place of the subdirectory.
+	 */
+	private final class CollectTask extends RecursiveTask<List<DeployableArtifact>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path root;
+
+		private final Path directory;
+
+		CollectTask(Path root, Path directory) {
+			this.root = root;
+			this.directory = directory;
+		}
+
+		@Override
+		protected List<DeployableArtifact> compute() {
+			List<Object> entries = new ArrayList<>();
+			try {
+				Files.walkFileTree(this.directory, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<>() {
+
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+						boolean link = attributes.isSymbolicLink();
+						if (link) {
+							attributes = Files.readAttributes(file, BasicFileAttributes.class);
+						}
+						if (attributes.isDirectory() && !link && !isExcludedDirectory(file)) {
+							CollectTask task = new CollectTask(CollectTask.this.root, file);
+							task.fork();
+							entries.add(task);
+						}
+						else if (attributes.isRegularFile() && isIncluded(file)) {
+							entries.add(DeployableArtifact.of(file, CollectTask.this.root, attributes));
+						}
+						return FileVisitResult.CONTINUE;
+					}
+
+				});
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			return join(entries);
+		}
+
+		private List<DeployableArtifact> join(List<Object> entries) {
+			List<DeployableArtifact> artifacts = new ArrayList<>();
+			for (Object entry : entries) {
+				if (entry instanceof CollectTask task) {
+					artifacts.addAll(task.join());
+				}
+				else {
+					artifacts.add((DeployableArtifact) entry);
+				}
+			}
+			return Collections.unmodifiableList(artifacts);
+		}
+
 	}
 
 }
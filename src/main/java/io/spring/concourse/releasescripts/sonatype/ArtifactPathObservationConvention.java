@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.util.List;
+
+import io.micrometer.common.KeyValue;
+
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * {@link DefaultClientRequestObservationConvention} that replaces the path of the
+ * artifact in the URI of each request for an artifact with a {@code {path}} variable.
+ * Artifact paths cannot be expanded from a URI variable as their slashes would be
+ * encoded, so without this every artifact would be tagged with its own URI.
+ */
+class ArtifactPathObservationConvention extends DefaultClientRequestObservationConvention {
+
+	private final List<String> artifactPathPrefixes;
+
+	ArtifactPathObservationConvention(String... artifactPathPrefixes) {
+		this.artifactPathPrefixes = List.of(artifactPathPrefixes);
+	}
+
+	@Override
+	protected KeyValue uri(ClientRequestObservationContext context) {
+		String uriTemplate = context.getUriTemplate();
+		if (uriTemplate != null) {
+			for (String prefix : this.artifactPathPrefixes) {
+				if (uriTemplate.startsWith(prefix)) {
+					return KeyValue.of(LowCardinalityKeyNames.URI, prefix + "{path}");
+				}
+			}
+		}
+		return super.uri(context);
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bouncycastle.bcpg.ArmoredOutputStream;
+import org.bouncycastle.bcpg.HashAlgorithmTags;
+import org.bouncycastle.bcpg.sig.KeyFlags;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openpgp.PGPException;
+import org.bouncycastle.openpgp.PGPPrivateKey;
+import org.bouncycastle.openpgp.PGPSecretKey;
+import org.bouncycastle.openpgp.PGPSecretKeyRing;
+import org.bouncycastle.openpgp.PGPSecretKeyRingCollection;
+import org.bouncycastle.openpgp.PGPSignature;
+import org.bouncycastle.openpgp.PGPSignatureGenerator;
+import org.bouncycastle.openpgp.PGPSignatureSubpacketVector;
+import org.bouncycastle.openpgp.PGPUtil;
+import org.bouncycastle.openpgp.operator.jcajce.JcaKeyFingerprintCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPContentSignerBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcePBESecretKeyDecryptorBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Generates the detached, ASCII-armored PGP signatures of deployable artifacts. Artifacts
+ * are signed in parallel, streaming their content through the signature generator, and
+ * the signatures are kept in memory. Artifacts that already have a signature are not
+ * signed again and checksum and signature files are not signed.
+ */
+class ArtifactSigner {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArtifactSigner.class);
+
+	private static final BouncyCastleProvider provider = new BouncyCastleProvider();
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final ThreadLocal<byte[]> buffer = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+	private final PGPSecretKey secretKey;
+
+	private final PGPPrivateKey privateKey;
+
+	/**
+	 * Creates a new {@code ArtifactSigner} that will sign using a signing key in the
+	 * given armored secret key ring. Keys whose private key is not present, such as a
+	 * primary key that has been stripped from the ring, are ignored and keys that are
+	 * flagged for signing data are preferred.
+	 * @param armoredKey the ASCII-armored secret key ring
+	 * @param passphrase the passphrase of the secret key, may be {@code null}
+	 */
+	ArtifactSigner(String armoredKey, String passphrase) {
+		try (InputStream input = PGPUtil
+			.getDecoderStream(new ByteArrayInputStream(armoredKey.getBytes(StandardCharsets.US_ASCII)))) {
+			this.secretKey = findSigningKey(new PGPSecretKeyRingCollection(input, new JcaKeyFingerprintCalculator()));
+			this.privateKey = this.secretKey
+				.extractPrivateKey(new JcePBESecretKeyDecryptorBuilder().setProvider(provider)
+					.build((passphrase != null) ? passphrase.toCharArray() : new char[0]));
+		}
+		catch (IOException | PGPException ex) {
+			throw new IllegalStateException("Could not load signing key", ex);
+		}
+		if (this.privateKey == null) {
+			throw new IllegalStateException("Signing key " + keyId(this.secretKey) + " has no private key");
+		}
+	}
+
+	private static PGPSecretKey findSigningKey(PGPSecretKeyRingCollection keyRings) {
+		PGPSecretKey candidate = null;
+		for (PGPSecretKeyRing keyRing : keyRings) {
+			long primaryKeyId = keyRing.getPublicKey().getKeyID();
+			for (PGPSecretKey key : keyRing) {
+				if (!key.isSigningKey() || key.isPrivateKeyEmpty()) {
+					continue;
+				}
+				if (isFlaggedForSigningData(key, primaryKeyId)) {
+					return key;
+				}
+				candidate = (candidate != null) ? candidate : key;
+			}
+		}
+		if (candidate == null) {
+			throw new IllegalStateException("Signing key contains no key that can be used for signing");
+		}
+		return candidate;
+	}
+
+	private static boolean isFlaggedForSigningData(PGPSecretKey key, long primaryKeyId) {
+		Iterator<PGPSignature> signatures = key.getPublicKey().getSignatures();
+		while (signatures.hasNext()) {
+			PGPSignature signature = signatures.next();
+			if (signature.getKeyID() == primaryKeyId && signature.hasSubpackets()) {
+				PGPSignatureSubpacketVector subpackets = signature.getHashedSubPackets();
+				if ((subpackets.getKeyFlags() & KeyFlags.SIGN_DATA) != 0) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static String keyId(PGPSecretKey key) {
+		return Long.toHexString(key.getKeyID()).toUpperCase();
+	}
+
+	/**
+	 * Returns the given artifacts together with the signatures of those that are not yet
+	 * signed.
+	 * @param artifacts the artifacts
+	 * @return the artifacts and their signatures
+	 */
+	List<DeployableArtifact> addSignatures(Collection<DeployableArtifact> artifacts) {
+		long start = System.nanoTime();
+		Set<String> paths = artifacts.stream().map(DeployableArtifact::getPath).collect(Collectors.toSet());
+		List<DeployableArtifact> signatures = artifacts.parallelStream()
+			.filter((artifact) -> !artifact.isChecksumOrSignature())
+			.filter((artifact) -> !paths.contains(signaturePath(artifact)))
+			.map(this::sign)
+			.toList();
+		logger.info("Generated {} signatures with key {} in {} ms", signatures.size(), keyId(this.secretKey),
+				(System.nanoTime() - start) / 1_000_000);
+		List<DeployableArtifact> result = new ArrayList<>(artifacts);
+		result.addAll(signatures);
+		return result;
+	}
+
+	private DeployableArtifact sign(DeployableArtifact artifact) {
+		try {
+			PGPSignatureGenerator generator = new PGPSignatureGenerator(new JcaPGPContentSignerBuilder(
+					this.secretKey.getPublicKey().getAlgorithm(), HashAlgorithmTags.SHA512)
+				.setProvider(provider));
+			generator.init(PGPSignature.BINARY_DOCUMENT, this.privateKey);
+			byte[] buffer = ArtifactSigner.buffer.get();
+			try (InputStream input = artifact.getResource().getInputStream()) {
+				int read;
+				while ((read = input.read(buffer)) != -1) {
+					generator.update(buffer, 0, read);
+				}
+			}
+			ByteArrayOutputStream signature = new ByteArrayOutputStream();
+			try (ArmoredOutputStream output = new ArmoredOutputStream(signature)) {
+				generator.generate().encode(output);
+			}
+			String path = signaturePath(artifact);
+			return new DeployableArtifact(new ByteArrayResource(signature.toByteArray(), path), path, signature.size());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to sign '" + artifact.getPath() + "'", ex);
+		}
+		catch (PGPException ex) {
+			throw new IllegalStateException("Failed to sign '" + artifact.getPath() + "'", ex);
+		}
+	}
+
+	private String signaturePath(DeployableArtifact artifact) {
+		return artifact.getPath() + ".asc";
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.web.client.RequestCallback;
+
+/**
+ * {@link RequestCallback} that streams a {@link DeployableArtifact} to the body of an
+ * upload request. The artifact's content is copied using a fixed-size buffer that is
+ * reused by each upload thread and the {@code Content-Length} is set upfront so that the
+ * request does not need to be buffered in memory, irrespective of the artifact's size.
+ * The SHA-1 checksum of the uploaded content is calculated as it is copied. When a
+ * {@link BandwidthLimiter} is provided, the content is written in slices that are each
+ * acquired from the limiter. Copying stops if the uploading thread is interrupted,
+ * aborting the request.
+ */
+class ArtifactUploadRequestCallback implements RequestCallback {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final ThreadLocal<byte[]> buffer = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+	private final DeployableArtifact artifact;
+
+	private final BandwidthLimiter bandwidthLimiter;
+
+	private final MessageDigest digest = UploadJournal.sha1();
+
+	ArtifactUploadRequestCallback(DeployableArtifact artifact) {
+		this(artifact, null);
+	}
+
+	ArtifactUploadRequestCallback(DeployableArtifact artifact, BandwidthLimiter bandwidthLimiter) {
+		this.artifact = artifact;
+		this.bandwidthLimiter = bandwidthLimiter;
+	}
+
+	@Override
+	public void doWithRequest(ClientHttpRequest request) throws IOException {
+		Resource resource = this.artifact.getResource();
+		HttpHeaders headers = request.getHeaders();
+		headers.setContentType(MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM));
+		headers.setContentLength(this.artifact.getSize());
+		if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+			streamingRequest.setBody(this::writeBody);
+		}
+		else {
+			writeBody(request.getBody());
+		}
+	}
+
+	private void writeBody(OutputStream output) throws IOException {
+		try (InputStream input = this.artifact.getResource().getInputStream()) {
+			copy(input, output);
+		}
+	}
+
+	private void copy(InputStream input, OutputStream output) throws IOException {
+		byte[] buffer = ArtifactUploadRequestCallback.buffer.get();
+		int read;
+		this.digest.reset();
+		while ((read = input.read(buffer)) != -1) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new InterruptedIOException("Upload of " + this.artifact.getPath() + " cancelled");
+			}
+			write(buffer, read, output);
+			this.digest.update(buffer, 0, read);
+		}
+		output.flush();
+	}
+
+	private void write(byte[] buffer, int length, OutputStream output) throws IOException {
+		if (this.bandwidthLimiter == null) {
+			output.write(buffer, 0, length);
+			return;
+		}
+		for (int offset = 0; offset < length; offset += this.bandwidthLimiter.getSliceSize()) {
+			int slice = Math.min(this.bandwidthLimiter.getSliceSize(), length - offset);
+			try {
+				this.bandwidthLimiter.acquire(slice);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Upload of " + this.artifact.getPath() + " cancelled");
+			}
+			output.write(buffer, offset, slice);
+		}
+	}
+
+	/**
+	 * Returns the SHA-1 checksum of the content that was uploaded.
+	 * @return the hex-encoded checksum
+	 */
+	String getChecksum() {
+		return HexFormat.of().formatHex(this.digest.digest());
+	}
+
+}
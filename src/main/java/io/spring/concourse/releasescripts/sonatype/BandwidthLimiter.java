@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits the bandwidth shared by concurrent uploads. Bytes are paced as a token bucket
+ * that is refilled continuously, with each upload acquiring the bytes of a small slice of
+ * its content before writing it. Slices are sized so that each takes
+ * {@link #SLICE_DURATION} at the limit, so that uploads proceed smoothly rather than in
+ * bursts. Callers are paced in the order in which they acquire bytes.
+ */
+class BandwidthLimiter {
+
+	static final Duration SLICE_DURATION = Duration.ofMillis(20);
+
+	private static final int MIN_SLICE_SIZE = 1024;
+
+	private static final int MAX_SLICE_SIZE = 64 * 1024;
+
+	private final long bytesPerSecond;
+
+	private final int sliceSize;
+
+	private final LongAdder waitedNanos = new LongAdder();
+
+	private long nextAvailable = System.nanoTime();
+
+	BandwidthLimiter(DataSize bandwidth) {
+		Assert.isTrue(bandwidth.toBytes() > 0, "Bandwidth must be positive");
+		this.bytesPerSecond = bandwidth.toBytes();
+		this.sliceSize = (int) Math.min(MAX_SLICE_SIZE,
+				Math.max(MIN_SLICE_SIZE, this.bytesPerSecond * SLICE_DURATION.toNanos() / TimeUnit.SECONDS.toNanos(1)));
+	}
+
+	/**
+	 * Returns the limit in bytes per second.
+	 * @return the limit
+	 */
+	long getBytesPerSecond() {
+		return this.bytesPerSecond;
+	}
+
+	/**
+	 * Returns the maximum number of bytes that should be acquired at once.
+	 * @return the size of a slice
+	 */
+	int getSliceSize() {
+		return this.sliceSize;
+	}
+
+	/**
+	 * Returns the total time that callers have waited for bandwidth.
+	 * @return the time waited
+	 */
+	Duration getWaited() {
+		return Duration.ofNanos(this.waitedNanos.sum());
+	}
+
+	/**
+	 * Acquires the given number of bytes, waiting until they are available.
+	 * @param bytes the number of bytes
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	void acquire(int bytes) throws InterruptedException {
+		long wait = reserve(bytes, System.nanoTime());
+		if (wait > 0) {
+			this.waitedNanos.add(wait);
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+
+	/**
+	 * Reserves the given number of bytes, returning how long the caller must wait before
+	 * using them.
+	 * @param bytes the number of bytes
+	 * @param now the current time in nanoseconds
+	 * @return the time to wait in nanoseconds
+	 */
+	synchronized long reserve(int bytes, long now) {
+		long start = (this.nextAvailable - now > 0) ? this.nextAvailable : now;
+		this.nextAvailable = start + bytes * TimeUnit.SECONDS.toNanos(1) / this.bytesPerSecond;
+		return start - now;
+	}
+
+}
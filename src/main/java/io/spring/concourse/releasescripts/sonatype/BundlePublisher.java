@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonCreator.Mode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.metrics.PhaseTimer;
+import io.spring.concourse.releasescripts.support.Poller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Publishes artifacts to Maven Central by uploading them in a single bundle to the
+ * Central Publisher API and then waiting for the resulting deployment to be validated
+ * and, optionally, published.
+ */
+class BundlePublisher {
+
+	private static final Logger logger = LoggerFactory.getLogger(BundlePublisher.class);
+
+	private static final String PUBLISHER_PATH = "/api/v1/publisher/";
+
+	private final RestTemplate restTemplate;
+
+	private final RetryPolicy retryPolicy;
+
+	private final Poller poller;
+
+	private final boolean autoRelease;
+
+	private final PhaseTimer phaseTimer;
+
+	BundlePublisher(RestTemplate restTemplate, RetryPolicy retryPolicy, Poller poller, boolean autoRelease,
+			PhaseTimer phaseTimer) {
+		this.restTemplate = restTemplate;
+		this.retryPolicy = retryPolicy;
+		this.poller = poller;
+		this.autoRelease = autoRelease;
+		this.phaseTimer = phaseTimer;
+	}
+
+	/**
+	 * Checks if the given marker artifact has already been published.
+	 * @param markerArtifact the marker artifact
+	 * @return {@code true} if the artifact has been published
+	 */
+	boolean isPublished(ReleaseInfo.MarkerArtifact markerArtifact) {
+		PublishedResponse response = this.retryPolicy.execute("published",
+				() -> this.restTemplate.getForObject(
+						PUBLISHER_PATH + "published?namespace={namespace}&name={name}&version={version}",
+						PublishedResponse.class, markerArtifact.getGroupId(), markerArtifact.getArtifactId(),
+						markerArtifact.getVersion()));
+		if (response != null && response.published) {
+			logger.info("Already published to Sonatype.");
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Publishes the given artifacts as a single bundle.
+	 * @param name the name of the deployment
+	 * @param artifacts the artifacts to publish
+	 */
+	void publish(String name, Collection<DeployableArtifact> artifacts) {
+		String publishingType = this.autoRelease ? "AUTOMATIC" : "USER_MANAGED";
+		logger.info("Uploading bundle of {} artifacts", artifacts.size());
+		String deploymentId = this.phaseTimer.record("deploy", () -> this.retryPolicy.executeNonIdempotent("upload",
+				() -> this.restTemplate.execute(PUBLISHER_PATH + "upload?name={name}&publishingType={publishingType}",
+						HttpMethod.POST, new BundleRequestCallback(List.copyOf(artifacts)),
+						(response) -> StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8).trim(), name,
+						publishingType)));
+		logger.info("Bundle uploaded as deployment {}. Awaiting validation", deploymentId);
+		this.phaseTimer.record("close", () -> awaitDeployment(deploymentId));
+	}
+
+	private void awaitDeployment(String deploymentId) {
+		String targetState = this.autoRelease ? "PUBLISHED" : "VALIDATED";
+		DeploymentStatus status = this.poller.poll("Deployment " + deploymentId,
+				() -> this.retryPolicy.execute("status",
+						() -> this.restTemplate.postForObject(PUBLISHER_PATH + "status?id={id}", null,
+								DeploymentStatus.class, deploymentId)),
+				(current) -> targetState.equals(current.deploymentState) || "FAILED".equals(current.deploymentState));
+		if ("FAILED".equals(status.deploymentState)) {
+			logger.error("Deployment {} failed:\n{}", deploymentId, status.errors);
+			throw new RuntimeException("Deployment failed");
+		}
+		logger.info("Deployment {} {}", deploymentId, targetState.toLowerCase());
+	}
+
+	private static final class PublishedResponse {
+
+		private final boolean published;
+
+		@JsonCreator(mode = Mode.PROPERTIES)
+		private PublishedResponse(@JsonProperty("published") boolean published) {
+			this.published = published;
+		}
+
+	}
+
+	private static final class DeploymentStatus {
+
+		private final String deploymentState;
+
+		private final Map<String, Object> errors;
+
+		@JsonCreator(mode = Mode.PROPERTIES)
+		private DeploymentStatus(@JsonProperty("deploymentState") String deploymentState,
+				@JsonProperty("errors") Map<String, Object> errors) {
+			this.deploymentState = deploymentState;
+			this.errors = errors;
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.client.RequestCallback;
+
+/**
+ * {@link RequestCallback} that streams a bundle of {@link DeployableArtifact artifacts}
+ * as a {@code multipart/form-data} request. The bundle is a zip of the artifacts laid out
+ * as a Maven repository that is written directly to the body of the request as each
+ * artifact is read, so neither the bundle nor the request are held in memory or written
+ * to disk.
+ */
+class BundleRequestCallback implements RequestCallback {
+
+	private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+	private final List<DeployableArtifact> artifacts;
+
+	private final String boundary = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+
+	BundleRequestCallback(List<DeployableArtifact> artifacts) {
+		this.artifacts = artifacts.stream().sorted(Comparator.comparing(DeployableArtifact::getPath)).toList();
+	}
+
+	@Override
+	public void doWithRequest(ClientHttpRequest request) throws IOException {
+		HttpHeaders headers = request.getHeaders();
+		headers.setContentType(new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", this.boundary)));
+		if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+			streamingRequest.setBody(this::writeBody);
+		}
+		else {
+			writeBody(request.getBody());
+		}
+	}
+
+	private void writeBody(OutputStream body) throws IOException {
+		write(body, "--" + this.boundary);
+		write(body, "Content-Disposition: form-data; name=\"bundle\"; filename=\"bundle.zip\"");
+		write(body, "Content-Type: " + MediaType.APPLICATION_OCTET_STREAM_VALUE);
+		body.write(CRLF);
+		writeBundle(new FilterOutputStream(body) {
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				this.out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				flush();
+			}
+
+		});
+		body.write(CRLF);
+		write(body, "--" + this.boundary + "--");
+		body.flush();
+	}
+
+	private void writeBundle(OutputStream output) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(output)) {
+			zip.setLevel(Deflater.BEST_SPEED);
+			for (DeployableArtifact artifact : this.artifacts) {
+				zip.putNextEntry(new ZipEntry(artifact.getPath().replace(File.separatorChar, '/')));
+				try (InputStream input = artifact.getResource().getInputStream()) {
+					input.transferTo(zip);
+				}
+				zip.closeEntry();
+			}
+		}
+	}
+
+	private void write(OutputStream output, String line) throws IOException {
+		output.write(line.getBytes(StandardCharsets.US_ASCII));
+		output.write(CRLF);
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Algorithms of the checksums that can be generated for deployed artifacts.
+ */
+public enum ChecksumAlgorithm {
+
+	/**
+	 * MD5 checksum in a {@code .md5} file.
+	 */
+	MD5("MD5", "md5"),
+
+	/**
+	 * SHA-1 checksum in a {@code .sha1} file.
+	 */
+	SHA1("SHA-1", "sha1"),
+
+	/**
+	 * SHA-256 checksum in a {@code .sha256} file.
+	 */
+	SHA256("SHA-256", "sha256"),
+
+	/**
+	 * SHA-512 checksum in a {@code .sha512} file.
+	 */
+	SHA512("SHA-512", "sha512");
+
+	private final String algorithm;
+
+	private final String extension;
+
+	ChecksumAlgorithm(String algorithm, String extension) {
+		this.algorithm = algorithm;
+		this.extension = extension;
+	}
+
+	String getExtension() {
+		return this.extension;
+	}
+
+	MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(this.algorithm);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Generates the checksum files of deployable artifacts. Each artifact is read once, in
+ * large sequential chunks that are fed to the digest of every algorithm, and artifacts
+ * are processed in parallel. Checksum files that already exist alongside an artifact are
+ * not generated again and no checksums are generated for checksum or signature files.
+ */
+class ChecksumGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChecksumGenerator.class);
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	private static final ThreadLocal<byte[]> buffer = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+	private final Set<ChecksumAlgorithm> algorithms;
+
+	ChecksumGenerator(Collection<ChecksumAlgorithm> algorithms) {
+		this.algorithms = algorithms.isEmpty() ? EnumSet.noneOf(ChecksumAlgorithm.class) : EnumSet.copyOf(algorithms);
+	}
+
+	/**
+	 * Returns the given artifacts together with their generated checksum files.
+	 * @param artifacts the artifacts
+	 * @return the artifacts and their checksums
+	 */
+	List<DeployableArtifact> addChecksums(Collection<DeployableArtifact> artifacts) {
+		List<DeployableArtifact> result = new ArrayList<>(artifacts);
+		if (this.algorithms.isEmpty()) {
+			return result;
+		}
+		long start = System.nanoTime();
+		Set<String> paths = artifacts.stream().map(DeployableArtifact::getPath).collect(Collectors.toSet());
+		List<DeployableArtifact> checksums = artifacts.parallelStream()
+			.filter((artifact) -> !artifact.isChecksumOrSignature())
+			.flatMap((artifact) -> generateChecksums(artifact, paths).stream())
+			.toList();
+		logger.info("Generated {} checksums in {} ms", checksums.size(), (System.nanoTime() - start) / 1_000_000);
+		result.addAll(checksums);
+		return result;
+	}
+
+	private List<DeployableArtifact> generateChecksums(DeployableArtifact artifact, Set<String> paths) {
+		List<ChecksumAlgorithm> missing = this.algorithms.stream()
+			.filter((algorithm) -> !paths.contains(checksumPath(artifact, algorithm)))
+			.toList();
+		if (missing.isEmpty()) {
+			return List.of();
+		}
+		MessageDigest[] digests = missing.stream().map(ChecksumAlgorithm::createDigest).toArray(MessageDigest[]::new);
+		digest(artifact, digests);
+		List<DeployableArtifact> checksums = new ArrayList<>(missing.size());
+		for (int i = 0; i < digests.length; i++) {
+			byte[] checksum = HexFormat.of().formatHex(digests[i].digest()).getBytes(StandardCharsets.US_ASCII);
+			String path = checksumPath(artifact, missing.get(i));
+			checksums.add(new DeployableArtifact(new ByteArrayResource(checksum, path), path, checksum.length));
+		}
+		return checksums;
+	}
+
+	private void digest(DeployableArtifact artifact, MessageDigest[] digests) {
+		byte[] buffer = ChecksumGenerator.buffer.get();
+		try (InputStream input = artifact.getResource().getInputStream()) {
+			int read;
+			while ((read = input.readNBytes(buffer, 0, buffer.length)) > 0) {
+				for (MessageDigest digest : digests) {
+					digest.update(buffer, 0, read);
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to generate checksums of '" + artifact.getPath() + "'", ex);
+		}
+	}
+
+	private String checksumPath(DeployableArtifact artifact, ChecksumAlgorithm algorithm) {
+		return artifact.getPath() + "." + algorithm.getExtension();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2021 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package io.spring.concourse.releasescripts.sonatype;
 
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.springframework.core.io.PathResource;
 import org.springframework.core.io.Resource;
 
 /**
@@ -29,9 +33,24 @@ class DeployableArtifact {
 
 	private final String path;
 
-	DeployableArtifact(Resource resource, String path) {
+	private final long size;
+
+	DeployableArtifact(Resource resource, String path, long size) {
 		this.resource = resource;
 		this.path = path;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a {@link DeployableArtifact} for the given file using attributes that have
+	 * already been read.
+	 * @param file the file
+	 * @param root the root of the tree that contains the file
+	 * @param attributes the attributes of the file
+	 * @return the deployable artifact
+	 */
+	static DeployableArtifact of(Path file, Path root, BasicFileAttributes attributes) {
+		return new DeployableArtifact(new PathResource(file), root.relativize(file).toString(), attributes.size());
 	}
 
 	Resource getResource() {
@@ -42,4 +61,24 @@ class DeployableArtifact {
 		return this.path;
 	}
 
+	long getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Returns whether this artifact is the checksum or signature of another artifact.
+	 * @return {@code true} if the artifact is a checksum or signature
+	 */
+	boolean isChecksumOrSignature() {
+		if (this.path.endsWith(".asc")) {
+			return true;
+		}
+		for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+			if (this.path.endsWith("." + algorithm.getExtension())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Probes a repository for artifacts that have already been published, allowing them to be
+ * skipped when a release is partially published or republished. Artifacts are probed
+ * concurrently with {@code HEAD} requests and an artifact is considered to be published
+ * when the repository's SHA-1 checksum of it matches the checksum of the local artifact.
+ * The checksums and signature of a published artifact are also considered to be published
+ * if they exist in the repository, irrespective of their content, as signatures are not
+ * reproducible. An artifact that cannot be probed, for example because the request is
+ * forbidden, is considered to be unpublished.
+ */
+class PublishedArtifactProbe {
+
+	private static final Logger logger = LoggerFactory.getLogger(PublishedArtifactProbe.class);
+
+	private static final Pattern ETAG_SHA1 = Pattern.compile("\\{SHA1\\{([0-9a-fA-F]{40})\\}\\}");
+
+	private static final String CHECKSUM_SHA1_HEADER = "X-Checksum-Sha1";
+
+	private final RestTemplate restTemplate;
+
+	private final String repositoryPath;
+
+	private final RetryPolicy retryPolicy;
+
+	private final int threads;
+
+	PublishedArtifactProbe(RestTemplate restTemplate, String repositoryPath, RetryPolicy retryPolicy, int threads) {
+		this.restTemplate = restTemplate;
+		this.repositoryPath = repositoryPath;
+		this.retryPolicy = retryPolicy;
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns the artifacts that have not already been published.
+	 * @param artifacts the artifacts to probe
+	 * @return the artifacts that have not been published
+	 */
+	List<DeployableArtifact> unpublished(Collection<DeployableArtifact> artifacts) {
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			List<CompletableFuture<Probe>> probes = artifacts.stream()
+				.map((artifact) -> CompletableFuture.supplyAsync(() -> probe(artifact), executor))
+				.toList();
+			List<Probe> results = probes.stream().map(CompletableFuture::join).toList();
+			Set<String> published = results.stream()
+				.filter((probe) -> probe.matches())
+				.map((probe) -> probe.artifact().getPath())
+				.collect(Collectors.toSet());
+			Set<DeployableArtifact> skipped = results.stream()
+				.filter((probe) -> probe.matches() || (probe.exists() && probe.artifact().isChecksumOrSignature()
+						&& published.contains(owner(probe.artifact()))))
+				.map(Probe::artifact)
+				.collect(Collectors.toSet());
+			logger.info("Probed {} artifacts in {} ms. Skipping {} already published artifacts ({} bytes)",
+					artifacts.size(), (System.nanoTime() - start) / 1_000_000, skipped.size(),
+					skipped.stream().mapToLong(DeployableArtifact::getSize).sum());
+			return artifacts.stream().filter((artifact) -> !skipped.contains(artifact)).toList();
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private String owner(DeployableArtifact artifact) {
+		String path = artifact.getPath();
+		return path.substring(0, path.lastIndexOf('.'));
+	}
+
+	private Probe probe(DeployableArtifact artifact) {
+		HttpHeaders headers;
+		try {
+			headers = this.retryPolicy.execute("HEAD",
+					() -> this.restTemplate.headForHeaders(this.repositoryPath + artifact.getPath()));
+		}
+		catch (HttpClientErrorException.NotFound ex) {
+			return new Probe(artifact, false, false);
+		}
+		catch (RestClientException ex) {
+			logger.debug("Probe of {} failed. Treating it as unpublished", artifact.getPath(), ex);
+			return new Probe(artifact, false, false);
+		}
+		String checksum = remoteChecksum(headers);
+		return new Probe(artifact, true,
+				checksum != null && checksum.equalsIgnoreCase(UploadJournal.checksum(artifact)));
+	}
+
+	private String remoteChecksum(HttpHeaders headers) {
+		String checksum = headers.getFirst(CHECKSUM_SHA1_HEADER);
+		if (checksum != null) {
+			return checksum;
+		}
+		String etag = headers.getETag();
+		if (etag != null) {
+			Matcher matcher = ETAG_SHA1.matcher(etag);
+			if (matcher.find()) {
+				return matcher.group(1);
+			}
+		}
+		return null;
+	}
+
+	private record Probe(DeployableArtifact artifact, boolean exists, boolean matches) {
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.spring.concourse.releasescripts.support.Backoff;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Policy for retrying requests made to a Sonatype host. Server errors, rate limiting and
+ * I/O failures are retried, with an exponential backoff and full jitter between attempts,
+ * until the attempt budget is exhausted. Other client errors are not retried. The number
+ * of retries is recorded for each operation as a {@code releasescripts.retries} counter.
+ * Requests that are not idempotent are only retried when they were not processed by the
+ * host: when a connection to the host could not be established or when the request was
+ * rate limited.
+ */
+class RetryPolicy {
+
+	private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+
+	private static final String RETRIES = "releasescripts.retries";
+
+	private final String host;
+
+	private final int maxAttempts;
+
+	private final Backoff backoff;
+
+	private final MeterRegistry registry;
+
+	RetryPolicy(String host, int maxAttempts, Backoff backoff, MeterRegistry registry) {
+		this.host = host;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.backoff = backoff;
+		this.registry = registry;
+	}
+
+	/**
+	 * Returns whether the given failure is transient and the request that caused it can
+	 * be retried.
+	 * @param ex the failure
+	 * @return {@code true} if the request can be retried
+	 */
+	boolean isRetryable(Throwable ex) {
+		return ex instanceof HttpServerErrorException || ex instanceof HttpClientErrorException.TooManyRequests
+				|| ex instanceof ResourceAccessException;
+	}
+
+	/**
+	 * Returns whether the given failure occurred without the request that caused it being
+	 * processed, allowing a request that is not idempotent to be retried.
+	 * @param ex the failure
+	 * @return {@code true} if the request was not processed
+	 */
+	boolean isUnprocessed(Throwable ex) {
+		if (ex instanceof HttpClientErrorException.TooManyRequests) {
+			return true;
+		}
+		Throwable cause = (ex instanceof ResourceAccessException) ? ex.getCause() : null;
+		return cause instanceof ConnectException || cause instanceof NoRouteToHostException
+				|| cause instanceof UnknownHostException;
+	}
+
+	/**
+	 * Returns whether a request that has failed with the given failure should be
+	 * attempted again.
+	 * @param attempt the number of the attempt that failed, starting from 1
+	 * @param ex the failure
+	 * @return {@code true} if the request should be attempted again
+	 */
+	boolean shouldRetry(int attempt, Throwable ex) {
+		return attempt < this.maxAttempts && isRetryable(ex);
+	}
+
+	/**
+	 * Records a retry of the given operation and waits before it is attempted.
+	 * @param operation the operation that will be retried
+	 * @param attempt the number of the attempt that failed, starting from 1
+	 * @param ex the failure
+	 */
+	void backOff(String operation, int attempt, Throwable ex) {
+		Duration delay = this.backoff.getDelay(attempt);
+		Counter.builder(RETRIES)
+			.description("Retries of failed requests")
+			.tag("host", this.host)
+			.tag("operation", operation)
+			.register(this.registry)
+			.increment();
+		logger.warn("Attempt {} of {} of {} failed ({}). Retrying in {} ms", attempt, this.maxAttempts, operation,
+				ex.getMessage(), delay.toMillis());
+		try {
+			Thread.sleep(delay.toMillis());
+		}
+		catch (InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting to retry " + operation, interrupted);
+		}
+	}
+
+	/**
+	 * Performs the given action, retrying it according to this policy.
+	 * @param <T> the type of the action's result
+	 * @param operation the name of the operation performed by the action
+	 * @param action the action
+	 * @return the result of the action
+	 */
+	<T> T execute(String operation, Supplier<T> action) {
+		return execute(operation, action, this::isRetryable);
+	}
+
+	/**
+	 * Performs the given action, which makes a request that is not idempotent, retrying
+	 * it according to this policy only when the request was not processed.
+	 * @param <T> the type of the action's result
+	 * @param operation the name of the operation performed by the action
+	 * @param action the action
+	 * @return the result of the action
+	 * @see #isUnprocessed(Throwable)
+	 */
+	<T> T executeNonIdempotent(String operation, Supplier<T> action) {
+		return execute(operation, action, this::isUnprocessed);
+	}
+
+	private <T> T execute(String operation, Supplier<T> action, Predicate<Throwable> retryable) {
+		for (int attempt = 1;; attempt++) {
+			try {
+				return action.get();
+			}
+			catch (RuntimeException ex) {
+				if (attempt >= this.maxAttempts || !retryable.test(ex)) {
+					throw ex;
+				}
+				backOff(operation, attempt, ex);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of retries of each operation.
+	 * @return the number of retries, keyed by operation
+	 */
+	Map<String, Long> getRetries() {
+		return this.registry.find(RETRIES)
+			.tag("host", this.host)
+			.counters()
+			.stream()
+			.collect(Collectors.toMap((counter) -> counter.getId().getTag("operation"),
+					(counter) -> (long) counter.count(), Long::sum, TreeMap::new));
+	}
+
+	void logRetries() {
+		Map<String, Long> retries = getRetries();
+		long total = retries.values().stream().mapToLong(Long::longValue).sum();
+		if (total > 0) {
+			logger.info("Retried {} requests to {}: {}", total, this.host, retries);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2021 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,15 @@
 
 package io.spring.concourse.releasescripts.sonatype;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.DeprecatedConfigurationProperty;
+import org.springframework.util.unit.DataSize;
 
 /**
  * {@link ConfigurationProperties @ConfigurationProperties} for Sonatype.
@@ -50,27 +53,129 @@ public class SonatypeProperties {
 	 */
 	private String stagingProfile;
 
+	/**
+	 * Location of an on-disk cache of staging profile IDs. When not set, the ID of the
+	 * staging profile is fetched for each release.
+	 */
+	private Path stagingProfileCache;
+
+	/**
+	 * Time to live of the entries in the staging profile cache.
+	 */
+	private Duration stagingProfileCacheTtl = Duration.ofDays(1);
+
 	/**
 	 * Whether the repository should be released automatically after a successful close.
 	 */
 	private boolean autoRelease = true;
 
 	/**
-	 * Time between requests made to determine if the closing of a staging repository has
-	 * completed.
+	 * Mode in which artifacts are deployed. In bundle mode, the URL is that of the
+	 * Central Publisher API and the username and password are those of a user token.
+	 */
+	private DeployMode deployMode = DeployMode.FILES;
+
+	/**
+	 * Initial time between requests made to determine if the closing of a staging
+	 * repository or a deployment has completed. The time grows exponentially, with
+	 * jitter, up to the polling interval.
+	 */
+	private Duration initialPollingInterval = Duration.ofSeconds(1);
+
+	/**
+	 * Maximum time between requests made to determine if the closing of a staging
+	 * repository or a deployment has completed.
 	 */
 	private Duration pollingInterval = Duration.ofSeconds(15);
 
 	/**
-	 * Number of threads used to upload artifacts to the staging repository.
+	 * Maximum time to wait for the closing of a staging repository or a deployment to
+	 * complete.
+	 */
+	private Duration pollingTimeout = Duration.ofMinutes(30);
+
+	/**
+	 * Initial number of concurrent uploads of artifacts to the staging repository. The
+	 * number is then adapted to the server's latency and error rate.
 	 */
 	private int uploadThreads = 8;
 
+	/**
+	 * Minimum number of concurrent uploads of artifacts to the staging repository.
+	 */
+	private int minUploadThreads = 1;
+
+	/**
+	 * Maximum number of concurrent uploads of artifacts to the staging repository.
+	 */
+	private int maxUploadThreads = 32;
+
+	/**
+	 * Maximum bandwidth, per second, shared by all uploads of artifacts to the staging
+	 * repository. When not set, uploads are not limited.
+	 */
+	private DataSize uploadBandwidth;
+
+	/**
+	 * Order in which artifacts are uploaded to the staging repository.
+	 */
+	private UploadOrder uploadOrder = UploadOrder.LARGEST_FIRST;
+
+	/**
+	 * How artifacts are partitioned across staging repositories that are created,
+	 * deployed to, and closed concurrently before being released together.
+	 */
+	private StagingPartitioning stagingPartitioning = StagingPartitioning.NONE;
+
+	/**
+	 * Maximum size of the artifacts in each staging repository when partitioning
+	 * artifacts by size.
+	 */
+	private DataSize stagingPartitionSize = DataSize.ofGigabytes(2);
+
+	/**
+	 * Whether the release repository should be probed for artifacts that have already
+	 * been published so that they are not deployed again.
+	 */
+	private boolean probePublished;
+
+	/**
+	 * Number of concurrent requests made when probing for published artifacts.
+	 */
+	private int probeThreads = 16;
+
+	/**
+	 * Location of the journal of deployed artifacts that allows a failed deploy to be
+	 * resumed in the same staging repository. When not set, no journal is kept.
+	 */
+	private Path uploadJournal;
+
+	/**
+	 * Whether artifacts should be validated against the rules of the staging repository
+	 * before they are deployed.
+	 */
+	private boolean validate;
+
+	/**
+	 * Number of directories that are read concurrently when collecting artifacts.
+	 */
+	private int collectThreads = 8;
+
 	/**
 	 * Regular expression patterns of artifacts to exclude.
 	 */
 	private List<String> exclude = Arrays.asList("build-info\\.json");
 
+	/**
+	 * Algorithms of the checksum files to generate for artifacts that do not already have
+	 * them.
+	 */
+	private List<ChecksumAlgorithm> checksums = new ArrayList<>();
+
+	private final Retry retry = new Retry();
+
+	private final Signing signing = new Signing();
+
 	public String getUsername() {
 		return this.username;
 	}
@@ -113,6 +218,22 @@ public class SonatypeProperties {
 		this.stagingProfile = stagingProfile;
 	}
 
+	public Path getStagingProfileCache() {
+		return this.stagingProfileCache;
+	}
+
+	public void setStagingProfileCache(Path stagingProfileCache) {
+		this.stagingProfileCache = stagingProfileCache;
+	}
+
+	public Duration getStagingProfileCacheTtl() {
+		return this.stagingProfileCacheTtl;
+	}
+
+	public void setStagingProfileCacheTtl(Duration stagingProfileCacheTtl) {
+		this.stagingProfileCacheTtl = stagingProfileCacheTtl;
+	}
+
 	public boolean isAutoRelease() {
 		return this.autoRelease;
 	}
@@ -121,6 +242,22 @@ public class SonatypeProperties {
 		this.autoRelease = autoRelease;
 	}
 
+	public DeployMode getDeployMode() {
+		return this.deployMode;
+	}
+
+	public void setDeployMode(DeployMode deployMode) {
+		this.deployMode = deployMode;
+	}
+
+	public Duration getInitialPollingInterval() {
+		return this.initialPollingInterval;
+	}
+
+	public void setInitialPollingInterval(Duration initialPollingInterval) {
+		this.initialPollingInterval = initialPollingInterval;
+	}
+
 	public Duration getPollingInterval() {
 		return this.pollingInterval;
 	}
@@ -129,6 +266,14 @@ public class SonatypeProperties {
 		this.pollingInterval = pollingInterval;
 	}
 
+	public Duration getPollingTimeout() {
+		return this.pollingTimeout;
+	}
+
+	public void setPollingTimeout(Duration pollingTimeout) {
+		this.pollingTimeout = pollingTimeout;
+	}
+
 	public int getUploadThreads() {
 		return this.uploadThreads;
 	}
@@ -137,6 +282,94 @@ public class SonatypeProperties {
 		this.uploadThreads = uploadThreads;
 	}
 
+	public int getMinUploadThreads() {
+		return this.minUploadThreads;
+	}
+
+	public void setMinUploadThreads(int minUploadThreads) {
+		this.minUploadThreads = minUploadThreads;
+	}
+
+	public int getMaxUploadThreads() {
+		return this.maxUploadThreads;
+	}
+
+	public void setMaxUploadThreads(int maxUploadThreads) {
+		this.maxUploadThreads = maxUploadThreads;
+	}
+
+	public DataSize getUploadBandwidth() {
+		return this.uploadBandwidth;
+	}
+
+	public void setUploadBandwidth(DataSize uploadBandwidth) {
+		this.uploadBandwidth = uploadBandwidth;
+	}
+
+	public UploadOrder getUploadOrder() {
+		return this.uploadOrder;
+	}
+
+	public void setUploadOrder(UploadOrder uploadOrder) {
+		this.uploadOrder = uploadOrder;
+	}
+
+	public StagingPartitioning getStagingPartitioning() {
+		return this.stagingPartitioning;
+	}
+
+	public void setStagingPartitioning(StagingPartitioning stagingPartitioning) {
+		this.stagingPartitioning = stagingPartitioning;
+	}
+
+	public DataSize getStagingPartitionSize() {
+		return this.stagingPartitionSize;
+	}
+
+	public void setStagingPartitionSize(DataSize stagingPartitionSize) {
+		this.stagingPartitionSize = stagingPartitionSize;
+	}
+
+	public boolean isProbePublished() {
+		return this.probePublished;
+	}
+
+	public void setProbePublished(boolean probePublished) {
+		this.probePublished = probePublished;
+	}
+
+	public int getProbeThreads() {
+		return this.probeThreads;
+	}
+
+	public void setProbeThreads(int probeThreads) {
+		this.probeThreads = probeThreads;
+	}
+
+	public Path getUploadJournal() {
+		return this.uploadJournal;
+	}
+
+	public void setUploadJournal(Path uploadJournal) {
+		this.uploadJournal = uploadJournal;
+	}
+
+	public boolean isValidate() {
+		return this.validate;
+	}
+
+	public void setValidate(boolean validate) {
+		this.validate = validate;
+	}
+
+	public int getCollectThreads() {
+		return this.collectThreads;
+	}
+
+	public void setCollectThreads(int collectThreads) {
+		this.collectThreads = collectThreads;
+	}
+
 	public List<String> getExclude() {
 		return this.exclude;
 	}
@@ -145,4 +378,95 @@ public class SonatypeProperties {
 		this.exclude = exclude;
 	}
 
+	public List<ChecksumAlgorithm> getChecksums() {
+		return this.checksums;
+	}
+
+	public void setChecksums(List<ChecksumAlgorithm> checksums) {
+		this.checksums = checksums;
+	}
+
+	public Retry getRetry() {
+		return this.retry;
+	}
+
+	public Signing getSigning() {
+		return this.signing;
+	}
+
+	public static class Retry {
+
+		/**
+		 * Maximum number of attempts of each artifact upload and staging request.
+		 */
+		private int maxAttempts = 5;
+
+		/**
+		 * Upper bound of the randomized delay before the first retry. The bound doubles
+		 * with each subsequent retry.
+		 */
+		private Duration initialBackoff = Duration.ofSeconds(1);
+
+		/**
+		 * Maximum upper bound of the randomized delay between retries.
+		 */
+		private Duration maxBackoff = Duration.ofSeconds(30);
+
+		public int getMaxAttempts() {
+			return this.maxAttempts;
+		}
+
+		public void setMaxAttempts(int maxAttempts) {
+			this.maxAttempts = maxAttempts;
+		}
+
+		public Duration getInitialBackoff() {
+			return this.initialBackoff;
+		}
+
+		public void setInitialBackoff(Duration initialBackoff) {
+			this.initialBackoff = initialBackoff;
+		}
+
+		public Duration getMaxBackoff() {
+			return this.maxBackoff;
+		}
+
+		public void setMaxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+		}
+
+	}
+
+	public static class Signing {
+
+		/**
+		 * ASCII-armored secret key used to sign artifacts that do not already have a
+		 * signature. When not set, artifacts are not signed.
+		 */
+		private String key;
+
+		/**
+		 * Passphrase of the secret key.
+		 */
+		private String passphrase;
+
+		public String getKey() {
+			return this.key;
+		}
+
+		public void setKey(String key) {
+			this.key = key;
+		}
+
+		public String getPassphrase() {
+			return this.passphrase;
+		}
+
+		public void setPassphrase(String passphrase) {
+			this.passphrase = passphrase;
+		}
+
+	}
+
 }
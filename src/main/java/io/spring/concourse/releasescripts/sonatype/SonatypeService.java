@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2023 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,36 +16,60 @@
 
 package io.spring.concourse.releasescripts.sonatype;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonCreator.Mode;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.metrics.PhaseTimer;
+import io.spring.concourse.releasescripts.support.Backoff;
+import io.spring.concourse.releasescripts.support.Poller;
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -65,8 +89,28 @@ public class SonatypeService {
 
 	private static final String NEXUS_STAGING_PATH = "/service/local/staging/";
 
+	private static final String DEPLOY_PATH = NEXUS_STAGING_PATH + "deployByRepositoryId/{repositoryId}/";
+
+	private static final Duration DEPLOY_TIMEOUT = Duration.ofMinutes(60);
+
+	private static final Duration PARTITION_CANCEL_TIMEOUT = Duration.ofMinutes(1);
+
 	private final ArtifactCollector artifactCollector;
 
+	private final ArtifactSigner artifactSigner;
+
+	private final ChecksumGenerator checksumGenerator;
+
+	private final StagingRulesValidator validator;
+
+	private final BundlePublisher bundlePublisher;
+
+	private final StagingPartitioner stagingPartitioner;
+
+	private final PublishedArtifactProbe publishedArtifactProbe;
+
+	private final StagingProfileCache stagingProfileCache;
+
 	private final RestTemplate restTemplate;
 
 	private final String stagingProfile;
@@ -75,24 +119,107 @@ public class SonatypeService {
 
 	private final boolean autoRelease;
 
-	private final Duration pollingInterval;
+	private final Poller poller;
 
 	private final int threads;
 
-	public SonatypeService(RestTemplateBuilder builder, SonatypeProperties sonatypeProperties) {
+	private final int minThreads;
+
+	private final int maxThreads;
+
+	private final UploadOrder uploadOrder;
+
+	private final Path uploadJournal;
+
+	private final RetryPolicy retryPolicy;
+
+	private final ObservationRegistry observationRegistry;
+
+	private final PhaseTimer phaseTimer;
+
+	private final Counter uploadedBytes;
+
+	private final DistributionSummary uploadThroughput;
+
+	private final AtomicInteger activeUploads;
+
+	private final BandwidthLimiter bandwidthLimiter;
+
+	public SonatypeService(RestTemplateBuilder builder, SonatypeProperties sonatypeProperties,
+			ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<ObservationRegistry> observationRegistry) {
 		String username = sonatypeProperties.getUsername();
 		String password = sonatypeProperties.getPassword();
+		boolean bundle = sonatypeProperties.getDeployMode() == DeployMode.BUNDLE;
 		if (StringUtils.hasLength(username)) {
-			builder = builder.basicAuthentication(username, password);
+			builder = bundle
+					? builder.defaultHeader(HttpHeaders.AUTHORIZATION,
+							"Bearer " + Base64.getEncoder()
+								.encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8)))
+					: builder.basicAuthentication(username, password);
 		}
 		this.restTemplate = builder.rootUri(sonatypeProperties.getUrl()).build();
+		this.restTemplate
+			.setObservationConvention(new ArtifactPathObservationConvention(DEPLOY_PATH, NEXUS_REPOSITORY_PATH));
 		this.stagingProfile = sonatypeProperties.getStagingProfile();
 		this.stagingProfileId = sonatypeProperties.getStagingProfileId();
 		this.autoRelease = sonatypeProperties.isAutoRelease();
-		this.pollingInterval = sonatypeProperties.getPollingInterval();
+		Duration pollingInterval = sonatypeProperties.getPollingInterval();
+		Duration initialPollingInterval = sonatypeProperties.getInitialPollingInterval();
+		this.poller = new Poller(new Backoff(
+				(initialPollingInterval.compareTo(pollingInterval) < 0) ? initialPollingInterval : pollingInterval,
+				pollingInterval), sonatypeProperties.getPollingTimeout());
 		this.threads = sonatypeProperties.getUploadThreads();
+		this.minThreads = sonatypeProperties.getMinUploadThreads();
+		this.maxThreads = sonatypeProperties.getMaxUploadThreads();
+		this.uploadOrder = sonatypeProperties.getUploadOrder();
+		this.uploadJournal = sonatypeProperties.getUploadJournal();
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		SonatypeProperties.Retry retry = sonatypeProperties.getRetry();
+		this.retryPolicy = new RetryPolicy(sonatypeProperties.getUrl(), retry.getMaxAttempts(),
+				new Backoff(retry.getInitialBackoff(), retry.getMaxBackoff()), registry);
+		this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+		this.phaseTimer = new PhaseTimer(this.observationRegistry, "sonatype");
+		this.uploadedBytes = Counter.builder("releasescripts.upload.bytes")
+			.description("Bytes of artifacts uploaded")
+			.baseUnit(BaseUnits.BYTES)
+			.tag("service", "sonatype")
+			.register(registry);
+		this.uploadThroughput = DistributionSummary.builder("releasescripts.upload.throughput")
+			.description("Throughput of each artifact upload")
+			.baseUnit("bytes.per.second")
+			.tag("service", "sonatype")
+			.register(registry);
+		this.activeUploads = registry.gauge("releasescripts.uploads.active", Tags.of("service", "sonatype"),
+				new AtomicInteger());
+		DataSize uploadBandwidth = sonatypeProperties.getUploadBandwidth();
+		this.bandwidthLimiter = (uploadBandwidth != null) ? new BandwidthLimiter(uploadBandwidth) : null;
+		if (this.bandwidthLimiter != null) {
+			FunctionCounter
+				.builder("releasescripts.upload.throttled", this.bandwidthLimiter,
+						(limiter) -> limiter.getWaited().toNanos() / 1e9)
+				.description("Time that uploads waited for bandwidth")
+				.baseUnit("seconds")
+				.tag("service", "sonatype")
+				.register(registry);
+		}
 
-		this.artifactCollector = new ArtifactCollector(sonatypeProperties.getExclude());
+		this.artifactCollector = new ArtifactCollector(sonatypeProperties.getExclude(),
+				sonatypeProperties.getCollectThreads());
+		SonatypeProperties.Signing signing = sonatypeProperties.getSigning();
+		this.artifactSigner = StringUtils.hasText(signing.getKey())
+				? new ArtifactSigner(signing.getKey(), signing.getPassphrase()) : null;
+		this.checksumGenerator = new ChecksumGenerator(sonatypeProperties.getChecksums());
+		this.validator = sonatypeProperties.isValidate() ? new StagingRulesValidator(bundle) : null;
+		this.publishedArtifactProbe = sonatypeProperties.isProbePublished()
+				? new PublishedArtifactProbe(this.restTemplate, NEXUS_REPOSITORY_PATH, this.retryPolicy,
+						sonatypeProperties.getProbeThreads())
+				: null;
+		this.stagingProfileCache = new StagingProfileCache(sonatypeProperties.getStagingProfileCache(),
+				sonatypeProperties.getStagingProfileCacheTtl());
+		this.stagingPartitioner = new StagingPartitioner(sonatypeProperties.getStagingPartitioning(),
+				sonatypeProperties.getStagingPartitionSize());
+		this.bundlePublisher = bundle ? new BundlePublisher(this.restTemplate, this.retryPolicy, this.poller,
+				this.autoRelease, this.phaseTimer) : null;
 	}
 
 	private String buildMarkerArtifactSha1URI(ReleaseInfo releaseInfo) {
@@ -108,39 +235,225 @@ public class SonatypeService {
 	/**
 	 * Publishes the release by creating a staging repository and deploying to it the
 	 * artifacts at the given {@code artifactsRoot}. The repository is then closed and,
-	 * upon successfully closure, it is released.
+	 * upon successfully closure, it is released. In {@link DeployMode#BUNDLE bundle}
+	 * mode, the artifacts are instead uploaded in a single bundle.
 	 * @param releaseInfo the release information
 	 * @param artifactsRoot the root directory of the artifacts to stage
 	 */
 	public void publish(ReleaseInfo releaseInfo, Path artifactsRoot) {
-		if (artifactsPublished(releaseInfo)) {
-			return;
+		try {
+			if (this.bundlePublisher != null) {
+				if (!this.bundlePublisher.isPublished(releaseInfo.getMarkerArtifact())) {
+					this.bundlePublisher.publish(releaseInfo.getBuildNumber(),
+							this.phaseTimer.record("collect", () -> collectArtifacts(artifactsRoot)));
+				}
+			}
+			else if (!artifactsPublished(releaseInfo)) {
+				stageAndRelease(releaseInfo, artifactsRoot);
+			}
 		}
-		String stagingProfileId = this.stagingProfileId;
-		if (!StringUtils.hasText(stagingProfileId)) {
-			logger.info("Fetching stagingProfileId for:" + this.stagingProfile);
-			ProfilesResponse profiles = this.restTemplate.getForObject(NEXUS_STAGING_PATH + "/profiles",
-					ProfilesResponse.class);
-			stagingProfileId = profiles.data.stream()
-				.filter(profile -> profile.name.equals(this.stagingProfile))
-				.map(profile -> profile.id)
-				.findFirst()
-				.orElseThrow(
-						() -> new IllegalStateException("Could not find stagingProfile named " + this.stagingProfile));
-		}
-		logger.info("Creating staging repository");
+		finally {
+			this.retryPolicy.logRetries();
+		}
+	}
+
+	private void stageAndRelease(ReleaseInfo releaseInfo, Path artifactsRoot) {
 		String buildId = releaseInfo.getBuildNumber();
-		String repositoryId = createStagingRepository(stagingProfileId, buildId);
-		Collection<DeployableArtifact> artifacts = this.artifactCollector.collectArtifacts(artifactsRoot);
-		logger.info("Staging repository {} created. Deploying {} artifacts", repositoryId, artifacts.size());
-		deploy(artifacts, repositoryId);
-		logger.info("Deploy complete. Closing staging repository");
-		close(stagingProfileId, repositoryId);
-		logger.info("Staging repository closed");
+		UploadJournal journal = UploadJournal.load(this.uploadJournal, buildId);
+		StagingRepository existingRepository = findReusableStagingRepository(journal.getRepositoryId());
+		boolean deploy = existingRepository == null || "open".equals(existingRepository.type);
+		CompletableFuture<String> stagingProfileLookup = lookUpStagingProfileId();
+		Collection<DeployableArtifact> artifacts;
+		try {
+			artifacts = deploy ? this.phaseTimer.record("collect", () -> collectArtifacts(artifactsRoot))
+					: Collections.emptyList();
+		}
+		catch (RuntimeException ex) {
+			stagingProfileLookup.handle((id, failure) -> id).join();
+			throw ex;
+		}
+		String stagingProfileId = getStagingProfileId(stagingProfileLookup);
+		if (deploy && this.publishedArtifactProbe != null) {
+			artifacts = this.publishedArtifactProbe.unpublished(artifacts);
+			if (artifacts.isEmpty() && existingRepository == null) {
+				logger.info("All artifacts have already been published");
+				return;
+			}
+		}
+		if (existingRepository == null) {
+			List<List<DeployableArtifact>> partitions = this.stagingPartitioner.partition(artifacts);
+			if (partitions.size() > 1) {
+				List<String> repositoryIds = stagePartitions(stagingProfileId, buildId, partitions);
+				if (this.autoRelease) {
+					this.phaseTimer.record("release", () -> release(repositoryIds, buildId));
+					logger.info("Staging repositories released");
+				}
+				journal.delete();
+				return;
+			}
+		}
+		String repositoryId;
+		if (existingRepository != null) {
+			repositoryId = journal.getRepositoryId();
+			journal.resume();
+		}
+		else {
+			logger.info("Creating staging repository");
+			String profileId = stagingProfileId;
+			NewStagingRepository repository = this.phaseTimer.record("create",
+					() -> createStagingRepository(profileId, buildId));
+			stagingProfileId = repository.stagingProfileId();
+			repositoryId = repository.id();
+			journal.start(repositoryId);
+		}
+		if (deploy) {
+			List<DeployableArtifact> pending = journal.pending(artifacts);
+			if (existingRepository == null) {
+				logger.info("Staging repository {} created. Deploying {} artifacts", repositoryId, pending.size());
+			}
+			else {
+				logger.info("Staging repository {} reopened. Deploying {} artifacts, skipping {} already deployed",
+						repositoryId, pending.size(), artifacts.size() - pending.size());
+			}
+			this.phaseTimer.record("deploy", () -> deploy(pending, repositoryId, journal));
+			logger.info("Deploy complete. Closing staging repository");
+			String profileId = stagingProfileId;
+			this.phaseTimer.record("close", () -> close(profileId, repositoryId));
+			logger.info("Staging repository closed");
+		}
 		if (this.autoRelease) {
-			release(repositoryId, buildId);
+			this.phaseTimer.record("release", () -> release(List.of(repositoryId), buildId));
 			logger.info("Staging repository released");
 		}
+		journal.delete();
+	}
+
+	private Collection<DeployableArtifact> collectArtifacts(Path artifactsRoot) {
+		Collection<DeployableArtifact> artifacts = this.artifactCollector.collectArtifacts(artifactsRoot);
+		if (this.artifactSigner != null) {
+			artifacts = this.artifactSigner.addSignatures(artifacts);
+		}
+		artifacts = this.checksumGenerator.addChecksums(artifacts);
+		if (this.validator != null) {
+			this.validator.validate(artifacts);
+		}
+		return artifacts;
+	}
+
+	/**
+	 * Stages each of the given partitions of artifacts in a separate staging repository.
+	 * The repositories are created, deployed to, and closed concurrently, with uploads to
+	 * all of the repositories sharing a single concurrency limit. If staging of any
+	 * partition fails, staging of the others is cancelled and all of the repositories
+	 * that were created are dropped.
+	 * @param stagingProfileId the ID of the staging profile
+	 * @param buildId the ID of the build
+	 * @param partitions the partitions of artifacts
+	 * @return the IDs of the closed staging repositories
+	 */
+	private List<String> stagePartitions(String stagingProfileId, String buildId,
+			List<List<DeployableArtifact>> partitions) {
+		logger.info("Staging {} artifacts in {} repositories", partitions.stream().mapToInt(List::size).sum(),
+				partitions.size());
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(this.threads, this.minThreads, this.maxThreads);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(partitions.size(), this.threads));
+		CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+		List<String> createdRepositoryIds = new CopyOnWriteArrayList<>();
+		List<Future<String>> repositoryIds = new ArrayList<>();
+		try {
+			for (int i = 0; i < partitions.size(); i++) {
+				String description = buildId + " (" + (i + 1) + "/" + partitions.size() + ")";
+				List<DeployableArtifact> partition = partitions.get(i);
+				repositoryIds.add(completionService.submit(() -> stagePartition(stagingProfileId, description,
+						buildId, partition, limit, createdRepositoryIds)));
+			}
+			for (int i = 0; i < repositoryIds.size(); i++) {
+				completionService.take().get();
+			}
+			List<String> result = new ArrayList<>();
+			for (Future<String> repositoryId : repositoryIds) {
+				result.add(repositoryId.get());
+			}
+			return result;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			cancelPartitions(repositoryIds, executor, createdRepositoryIds, buildId);
+			throw new RuntimeException("Interrupted during staging");
+		}
+		catch (ExecutionException ex) {
+			cancelPartitions(repositoryIds, executor, createdRepositoryIds, buildId);
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new RuntimeException("Staging failed", ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String stagePartition(String stagingProfileId, String description, String buildId,
+			List<DeployableArtifact> artifacts, AdaptiveConcurrencyLimit limit, List<String> createdRepositoryIds) {
+		NewStagingRepository repository = this.phaseTimer.record("create",
+				() -> createStagingRepository(stagingProfileId, description));
+		String repositoryId = repository.id();
+		createdRepositoryIds.add(repositoryId);
+		logger.info("Staging repository {} created. Deploying {} artifacts", repositoryId, artifacts.size());
+		this.phaseTimer.record("deploy",
+				() -> deploy(artifacts, repositoryId, UploadJournal.load(null, buildId), limit));
+		logger.info("Deploy to {} complete. Closing staging repository", repositoryId);
+		this.phaseTimer.record("close", () -> close(repository.stagingProfileId(), repositoryId));
+		logger.info("Staging repository {} closed", repositoryId);
+		return repositoryId;
+	}
+
+	/**
+	 * Cancels staging of the partitions that are still in progress, waits for them to
+	 * stop, and then drops all of the staging repositories that were created.
+	 * @param partitions the futures of the partitions
+	 * @param executor the executor that is staging the partitions
+	 * @param createdRepositoryIds the IDs of the staging repositories that were created
+	 * @param buildId the ID of the build
+	 */
+	private void cancelPartitions(List<Future<String>> partitions, ExecutorService executor,
+			List<String> createdRepositoryIds, String buildId) {
+		partitions.forEach((partition) -> partition.cancel(true));
+		executor.shutdownNow();
+		try {
+			if (!executor.awaitTermination(PARTITION_CANCEL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+				logger.warn("Staging of cancelled partitions did not stop within {}", PARTITION_CANCEL_TIMEOUT);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		drop(List.copyOf(createdRepositoryIds), buildId);
+	}
+
+	/**
+	 * Finds the staging repository recorded in the upload journal of a previous attempt
+	 * to publish the release, if it is still open or closed and can therefore be reused.
+	 * @param repositoryId the ID of the staging repository, or {@code null}
+	 * @return the staging repository or {@code null} if it cannot be reused
+	 */
+	private StagingRepository findReusableStagingRepository(String repositoryId) {
+		if (repositoryId == null) {
+			return null;
+		}
+		try {
+			StagingRepository repository = getStagingRepository(repositoryId);
+			if (repository != null && !repository.transitioning
+					&& ("open".equals(repository.type) || "closed".equals(repository.type))) {
+				logger.info("Reusing {} staging repository {} from upload journal", repository.type, repositoryId);
+				return repository;
+			}
+		}
+		catch (HttpClientErrorException ex) {
+			logger.debug("Staging repository {} could not be retrieved", repositoryId, ex);
+		}
+		logger.info("Staging repository {} from upload journal cannot be reused", repositoryId);
+		return null;
 	}
 
 	/**
@@ -163,49 +476,239 @@ public class SonatypeService {
 		return false;
 	}
 
-	private String createStagingRepository(String stagingProfileId, String buildId) {
+	/**
+	 * Looks up the ID of the staging profile in the background, using the cached ID when
+	 * available.
+	 * @return a future for the staging profile ID
+	 */
+	private CompletableFuture<String> lookUpStagingProfileId() {
+		if (StringUtils.hasText(this.stagingProfileId)) {
+			return CompletableFuture.completedFuture(this.stagingProfileId);
+		}
+		return CompletableFuture.supplyAsync(() -> {
+			String cached = this.stagingProfileCache.get(this.stagingProfile);
+			if (cached != null) {
+				logger.info("Using cached stagingProfileId for:" + this.stagingProfile);
+				return cached;
+			}
+			return fetchStagingProfileId();
+		}, (task) -> {
+			Thread thread = new Thread(task, "staging-profile-lookup");
+			thread.setDaemon(true);
+			thread.start();
+		});
+	}
+
+	private String getStagingProfileId(CompletableFuture<String> lookup) {
+		try {
+			return lookup.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	private String fetchStagingProfileId() {
+		logger.info("Fetching stagingProfileId for:" + this.stagingProfile);
+		ProfilesResponse profiles = this.retryPolicy.execute("profiles",
+				() -> this.restTemplate.getForObject(NEXUS_STAGING_PATH + "/profiles", ProfilesResponse.class));
+		String stagingProfileId = profiles.data.stream()
+			.filter(profile -> profile.name.equals(this.stagingProfile))
+			.map(profile -> profile.id)
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("Could not find stagingProfile named " + this.stagingProfile));
+		this.stagingProfileCache.put(this.stagingProfile, stagingProfileId);
+		return stagingProfileId;
+	}
+
+	/**
+	 * Creates a staging repository using the given staging profile. If the profile's ID
+	 * was cached and is no longer known to Nexus, it is evicted from the cache and the ID
+	 * is fetched again.
+	 * @param stagingProfileId the ID of the staging profile
+	 * @param description the description of the staging repository
+	 * @return the new staging repository
+	 */
+	private NewStagingRepository createStagingRepository(String stagingProfileId, String description) {
+		try {
+			return new NewStagingRepository(stagingProfileId, start(stagingProfileId, description));
+		}
+		catch (HttpClientErrorException.NotFound ex) {
+			String refreshedStagingProfileId = refreshStagingProfileId(stagingProfileId);
+			if (refreshedStagingProfileId == null) {
+				throw ex;
+			}
+			return new NewStagingRepository(refreshedStagingProfileId, start(refreshedStagingProfileId, description));
+		}
+	}
+
+	/**
+	 * Refreshes a cached staging profile ID that is no longer known to Nexus. When
+	 * staging repositories are created concurrently, the first to fail evicts and
+	 * re-fetches the ID and the others reuse the result.
+	 * @param staleStagingProfileId the stale ID
+	 * @return the refreshed ID or {@code null} if the stale ID was not cached
+	 */
+	private synchronized String refreshStagingProfileId(String staleStagingProfileId) {
+		if (this.stagingProfileCache.evict(this.stagingProfile, staleStagingProfileId)) {
+			logger.info("Cached stagingProfileId {} not found. Fetching stagingProfileId again", staleStagingProfileId);
+			return fetchStagingProfileId();
+		}
+		String cached = this.stagingProfileCache.get(this.stagingProfile);
+		return (cached != null && !cached.equals(staleStagingProfileId)) ? cached : null;
+	}
+
+	private String start(String stagingProfileId, String description) {
 		Map<String, Object> body = new HashMap<>();
-		body.put("data", Collections.singletonMap("description", buildId));
-		PromoteResponse response = this.restTemplate.postForObject(
-				String.format(NEXUS_STAGING_PATH + "profiles/%s/start", stagingProfileId), body, PromoteResponse.class);
+		body.put("data", Collections.singletonMap("description", description));
+		PromoteResponse response = this.retryPolicy.executeNonIdempotent("start",
+				() -> this.restTemplate.postForObject(NEXUS_STAGING_PATH + "profiles/{stagingProfileId}/start", body,
+						PromoteResponse.class, stagingProfileId));
 		String repositoryId = response.data.stagedRepositoryId;
 		return repositoryId;
 	}
 
-	private void deploy(Collection<DeployableArtifact> artifacts, String repositoryId) {
-		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
-		try {
-			CompletableFuture
-				.allOf(artifacts.stream()
-					.map((artifact) -> CompletableFuture.runAsync(() -> deploy(artifact, repositoryId), executor))
-					.toArray(CompletableFuture[]::new))
-				.get(60, TimeUnit.MINUTES);
+	private void deploy(Collection<DeployableArtifact> artifacts, String repositoryId, UploadJournal journal) {
+		deploy(artifacts, repositoryId, journal,
+				new AdaptiveConcurrencyLimit(this.threads, this.minThreads, this.maxThreads));
+	}
+
+	private void deploy(Collection<DeployableArtifact> artifacts, String repositoryId, UploadJournal journal,
+			AdaptiveConcurrencyLimit limit) {
+		UploadPlan plan = UploadPlan.of(artifacts, this.uploadOrder);
+		logPlan(plan, artifacts, limit.getLimit());
+		long start = System.nanoTime();
+		long deadline = start + DEPLOY_TIMEOUT.toNanos();
+		try (UploadScope scope = new UploadScope()) {
+			int started = 0;
+			for (DeployableArtifact artifact : plan.getArtifacts()) {
+				if (!limit.acquire(Duration.ofNanos(deadline - System.nanoTime()))) {
+					throw new TimeoutException();
+				}
+				if (!scope.fork(artifact.getPath(), () -> deploy(artifact, repositoryId, journal, limit, deadline))) {
+					limit.failed();
+					logger.error("Not starting the remaining {} uploads", artifacts.size() - started);
+					break;
+				}
+				started++;
+			}
+			scope.join(deadline);
+			logDeployed(plan.getTotalBytes(), Duration.ofNanos(System.nanoTime() - start));
 		}
 		catch (InterruptedException ex) {
 			Thread.currentThread().interrupt();
 			throw new RuntimeException("Interrupted during artifact deploy");
 		}
-		catch (ExecutionException ex) {
+		catch (UploadScope.UploadFailedException ex) {
+			logger.error("Deploy failed. {}", ex.getMessage());
 			throw new RuntimeException("Deploy failed", ex);
 		}
 		catch (TimeoutException ex) {
 			throw new RuntimeException("Deploy timed out", ex);
 		}
-		finally {
-			executor.shutdown();
+	}
+
+	/**
+	 * Logs the longest-processing-time bound of the deploy: the number of bytes that the
+	 * busiest of the uploads will transfer if each artifact is uploaded by whichever
+	 * upload becomes free first, in the configured order and in collected order.
+	 */
+	private void logPlan(UploadPlan plan, Collection<DeployableArtifact> artifacts, int concurrency) {
+		long busiest = plan.getBusiestUploadBytes(concurrency);
+		long collected = UploadPlan.of(artifacts, UploadOrder.COLLECTED).getBusiestUploadBytes(concurrency);
+		logger.info("Deploying {} bytes with {} concurrent uploads. Busiest upload is planned to transfer {} bytes "
+				+ "in {} order and would transfer {} bytes in collected order", plan.getTotalBytes(), concurrency,
+				busiest, plan.getOrder(), collected);
+	}
+
+	private void logDeployed(long totalBytes, Duration actual) {
+		logger.info("Deployed {} bytes in {} ms ({} bytes/s)", totalBytes, actual.toMillis(),
+				bytesPerSecond(totalBytes, actual));
+		if (this.bandwidthLimiter != null) {
+			logger.info("Upload bandwidth limited to {} bytes/s. Uploads waited {} ms in total for bandwidth",
+					this.bandwidthLimiter.getBytesPerSecond(), this.bandwidthLimiter.getWaited().toMillis());
+		}
+	}
+
+	private long bytesPerSecond(long bytes, Duration duration) {
+		return (duration.isZero()) ? 0 : (long) (bytes * 1e9 / duration.toNanos());
+	}
+
+	private void deploy(DeployableArtifact deployableArtifact, String repositoryId, UploadJournal journal,
+			AdaptiveConcurrencyLimit limit, long deadline) {
+		Observation.createNotStarted("releasescripts.upload", this.observationRegistry)
+			.contextualName("upload " + deployableArtifact.getPath())
+			.lowCardinalityKeyValue("service", "sonatype")
+			.highCardinalityKeyValue("path", deployableArtifact.getPath())
+			.observe(() -> deployWithRetries(deployableArtifact, repositoryId, journal, limit, deadline));
+	}
+
+	private void deployWithRetries(DeployableArtifact deployableArtifact, String repositoryId, UploadJournal journal,
+			AdaptiveConcurrencyLimit limit, long deadline) {
+		for (int attempt = 1;; attempt++) {
+			long generation = limit.getGeneration();
+			long start = System.nanoTime();
+			try {
+				deploy(deployableArtifact, repositoryId, journal);
+				long elapsed = System.nanoTime() - start;
+				this.uploadedBytes.increment(deployableArtifact.getSize());
+				if (elapsed > 0) {
+					this.uploadThroughput.record(deployableArtifact.getSize() * 1e9 / elapsed);
+				}
+				limit.success(elapsed, deployableArtifact.getSize());
+				return;
+			}
+			catch (RuntimeException ex) {
+				if (this.retryPolicy.isRetryable(ex)) {
+					limit.overloaded(generation);
+				}
+				else {
+					limit.failed();
+				}
+				if (Thread.currentThread().isInterrupted() || !this.retryPolicy.shouldRetry(attempt, ex)) {
+					throw ex;
+				}
+				this.retryPolicy.backOff("deployByRepositoryId", attempt, ex);
+				reacquire(limit, deadline);
+			}
 		}
 	}
 
-	private void deploy(DeployableArtifact deployableArtifact, String repositoryId) {
+	private void reacquire(AdaptiveConcurrencyLimit limit, long deadline) {
 		try {
-			this.restTemplate.put(
-					NEXUS_STAGING_PATH + "deployByRepositoryId/" + repositoryId + "/" + deployableArtifact.getPath(),
-					deployableArtifact.getResource());
+			if (!limit.acquire(Duration.ofNanos(deadline - System.nanoTime()))) {
+				throw new RuntimeException("Deploy timed out");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted during artifact deploy", ex);
+		}
+	}
+
+	private void deploy(DeployableArtifact deployableArtifact, String repositoryId, UploadJournal journal) {
+		try {
+			ArtifactUploadRequestCallback requestCallback = new ArtifactUploadRequestCallback(deployableArtifact,
+					this.bandwidthLimiter);
+			this.activeUploads.incrementAndGet();
+			try {
+				this.restTemplate.execute(DEPLOY_PATH + deployableArtifact.getPath(), HttpMethod.PUT, requestCallback,
+						null, repositoryId);
+			}
+			finally {
+				this.activeUploads.decrementAndGet();
+			}
+			journal.deployed(deployableArtifact, requestCallback.getChecksum());
 			logger.info("Deployed {}", deployableArtifact.getPath());
 		}
 		catch (HttpClientErrorException ex) {
-			logger.error("Failed to deploy {}. Error response: {}", deployableArtifact.getPath(),
-					ex.getResponseBodyAsString());
+			if (!this.retryPolicy.isRetryable(ex)) {
+				logger.error("Failed to deploy {}. Error response: {}", deployableArtifact.getPath(),
+						ex.getResponseBodyAsString());
+			}
 			throw ex;
 		}
 	}
@@ -213,34 +716,29 @@ public class SonatypeService {
 	private void close(String stagingProfileId, String stagedRepositoryId) {
 		Map<String, Object> body = new HashMap<>();
 		body.put("data", Collections.singletonMap("stagedRepositoryId", stagedRepositoryId));
-		this.restTemplate.postForEntity(String.format(NEXUS_STAGING_PATH + "profiles/%s/finish", stagingProfileId),
-				body, Void.class);
+		this.retryPolicy.execute("finish",
+				() -> this.restTemplate.postForEntity(NEXUS_STAGING_PATH + "profiles/{stagingProfileId}/finish", body,
+						Void.class, stagingProfileId));
 		logger.info("Close requested. Awaiting result");
-		while (true) {
-			StagingRepository repository = this.restTemplate
-				.getForObject(NEXUS_STAGING_PATH + "repository/" + stagedRepositoryId, StagingRepository.class);
-			if (!repository.transitioning) {
-				if ("open".equals(repository.type)) {
-					logFailures(stagedRepositoryId);
-					throw new RuntimeException("Close failed");
-				}
-				return;
-			}
-			try {
-				Thread.sleep(this.pollingInterval.toMillis());
-			}
-			catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
-				throw new RuntimeException("Interrupted while waiting for staging repository to close", ex);
-			}
+		StagingRepository repository = this.poller.poll("Close of staging repository " + stagedRepositoryId,
+				() -> getStagingRepository(stagedRepositoryId), (status) -> !status.transitioning);
+		if ("open".equals(repository.type)) {
+			logFailures(stagedRepositoryId);
+			throw new RuntimeException("Close failed");
 		}
 	}
 
+	private StagingRepository getStagingRepository(String stagedRepositoryId) {
+		return this.retryPolicy.execute("repository",
+				() -> this.restTemplate.getForObject(NEXUS_STAGING_PATH + "repository/{stagedRepositoryId}",
+						StagingRepository.class, stagedRepositoryId));
+	}
+
 	private void logFailures(String stagedRepositoryId) {
 		try {
 			StagingRepositoryActivity[] activities = this.restTemplate.getForObject(
-					NEXUS_STAGING_PATH + "repository/" + stagedRepositoryId + "/activity",
-					StagingRepositoryActivity[].class);
+					NEXUS_STAGING_PATH + "repository/{stagedRepositoryId}/activity", StagingRepositoryActivity[].class,
+					stagedRepositoryId);
 			List<String> failureMessages = Stream.of(activities)
 				.flatMap((activity) -> activity.events.stream())
 				.filter((event) -> event.severity > 0)
@@ -258,13 +756,36 @@ public class SonatypeService {
 		}
 	}
 
-	private void release(String stagedRepositoryId, String buildId) {
+	private void release(List<String> stagedRepositoryIds, String buildId) {
 		Map<String, Object> data = new HashMap<>();
-		data.put("stagedRepositoryIds", Arrays.asList(stagedRepositoryId));
+		data.put("stagedRepositoryIds", stagedRepositoryIds);
 		data.put("description", "Releasing " + buildId);
 		data.put("autoDropAfterRelease", true);
 		Map<String, Object> body = Collections.singletonMap("data", data);
-		this.restTemplate.postForEntity(NEXUS_STAGING_PATH + "bulk/promote", body, Void.class);
+		this.retryPolicy.execute("bulk/promote",
+				() -> this.restTemplate.postForEntity(NEXUS_STAGING_PATH + "bulk/promote", body, Void.class));
+	}
+
+	private void drop(List<String> stagedRepositoryIds, String buildId) {
+		if (stagedRepositoryIds.isEmpty()) {
+			return;
+		}
+		logger.info("Dropping staging repositories {}", stagedRepositoryIds);
+		Map<String, Object> data = new HashMap<>();
+		data.put("stagedRepositoryIds", stagedRepositoryIds);
+		data.put("description", "Dropping " + buildId);
+		Map<String, Object> body = Collections.singletonMap("data", data);
+		try {
+			this.retryPolicy.execute("bulk/drop",
+					() -> this.restTemplate.postForEntity(NEXUS_STAGING_PATH + "bulk/drop", body, Void.class));
+		}
+		catch (RuntimeException ex) {
+			logger.error("Failed to drop staging repositories {}", stagedRepositoryIds, ex);
+		}
+	}
+
+	private record NewStagingRepository(String stagingProfileId, String id) {
+
 	}
 
 	private static final class ProfilesResponse {
@@ -320,7 +841,9 @@ public class SonatypeService {
 
 		private final boolean transitioning;
 
-		private StagingRepository(String type, boolean transitioning) {
+		@JsonCreator(mode = Mode.PROPERTIES)
+		private StagingRepository(@JsonProperty("type") String type,
+				@JsonProperty("transitioning") boolean transitioning) {
 			this.type = type;
 			this.transitioning = transitioning;
 		}
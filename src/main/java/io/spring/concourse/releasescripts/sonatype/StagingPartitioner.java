@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Partitions artifacts across multiple staging repositories. All of the files of a
+ * module's version, such as its POM, jars, signatures and checksums, are always staged in
+ * the same repository so that each repository can be validated on its own.
+ */
+class StagingPartitioner {
+
+	private final StagingPartitioning partitioning;
+
+	private final long sizeBudget;
+
+	StagingPartitioner(StagingPartitioning partitioning, DataSize sizeBudget) {
+		this.partitioning = partitioning;
+		this.sizeBudget = sizeBudget.toBytes();
+	}
+
+	/**
+	 * Partitions the given artifacts.
+	 * @param artifacts the artifacts to partition
+	 * @return the partitions, one for each staging repository
+	 */
+	List<List<DeployableArtifact>> partition(Collection<DeployableArtifact> artifacts) {
+		return switch (this.partitioning) {
+			case NONE -> List.of(List.copyOf(artifacts));
+			case GROUP_ID -> new ArrayList<>(group(artifacts, groupIds(artifacts)).values());
+			case SIZE -> partitionBySize(group(artifacts, this::directory).values());
+		};
+	}
+
+	private List<List<DeployableArtifact>> partitionBySize(Collection<List<DeployableArtifact>> modules) {
+		List<List<DeployableArtifact>> sorted = new ArrayList<>(modules);
+		sorted.sort(Comparator.comparingLong(this::size).reversed());
+		List<List<DeployableArtifact>> partitions = new ArrayList<>();
+		List<Long> sizes = new ArrayList<>();
+		for (List<DeployableArtifact> module : sorted) {
+			long size = size(module);
+			int partition = 0;
+			while (partition < partitions.size() && sizes.get(partition) + size > this.sizeBudget) {
+				partition++;
+			}
+			if (partition == partitions.size()) {
+				partitions.add(new ArrayList<>());
+				sizes.add(0L);
+			}
+			partitions.get(partition).addAll(module);
+			sizes.set(partition, sizes.get(partition) + size);
+		}
+		return partitions;
+	}
+
+	private Map<String, List<DeployableArtifact>> group(Collection<DeployableArtifact> artifacts,
+			Function<String, String> key) {
+		Map<String, List<DeployableArtifact>> groups = new LinkedHashMap<>();
+		for (DeployableArtifact artifact : artifacts) {
+			groups.computeIfAbsent(key.apply(artifact.getPath()), (k) -> new ArrayList<>()).add(artifact);
+		}
+		return groups;
+	}
+
+	private long size(List<DeployableArtifact> artifacts) {
+		return artifacts.stream().mapToLong(DeployableArtifact::getSize).sum();
+	}
+
+	private String directory(String path) {
+		int end = path.lastIndexOf(File.separatorChar);
+		return (end != -1) ? path.substring(0, end) : "";
+	}
+
+	/**
+	 * Returns a function that maps the path of each of the given artifacts to its group
+	 * ID. A module's files are in a version directory beneath an artifact ID directory
+	 * beneath the group's directory. Maven metadata may also be in an artifact ID
+	 * directory or in a group's directory, so the group ID of each directory is taken
+	 * from the modules and any other directory is assumed to be that of a group.
+	 */
+	private Function<String, String> groupIds(Collection<DeployableArtifact> artifacts) {
+		Map<String, String> groupIds = new HashMap<>();
+		for (DeployableArtifact artifact : artifacts) {
+			if (!isMavenMetadata(artifact.getPath())) {
+				String version = directory(artifact.getPath());
+				String artifactId = directory(version);
+				String groupId = directory(artifactId);
+				groupIds.put(version, groupId);
+				groupIds.put(artifactId, groupId);
+			}
+		}
+		return (path) -> {
+			String directory = directory(path);
+			return groupIds.getOrDefault(directory, directory).replace(File.separatorChar, '.');
+		};
+	}
+
+	private boolean isMavenMetadata(String path) {
+		return path.substring(path.lastIndexOf(File.separatorChar) + 1).startsWith("maven-metadata.xml");
+	}
+
+}
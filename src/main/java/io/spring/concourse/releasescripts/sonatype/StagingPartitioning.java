@@ -0,0 +1,40 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+/**
+ * Strategies for partitioning artifacts across multiple staging repositories.
+ */
+public enum StagingPartitioning {
+
+	/**
+	 * Stage all of the artifacts in a single repository.
+	 */
+	NONE,
+
+	/**
+	 * Stage the artifacts of each group ID in a separate repository.
+	 */
+	GROUP_ID,
+
+	/**
+	 * Stage the artifacts in as few repositories as possible without exceeding a size
+	 * budget for each repository.
+	 */
+	SIZE
+
+}
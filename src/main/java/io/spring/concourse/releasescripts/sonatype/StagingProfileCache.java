@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of the IDs of staging profiles, keyed by profile name. Each entry expires
+ * once its time to live has elapsed. Failures to read or write the cache are logged and
+ * otherwise ignored so that they never prevent a release from being published.
+ */
+class StagingProfileCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(StagingProfileCache.class);
+
+	private static final String SEPARATOR = "\t";
+
+	private final Path file;
+
+	private final Duration timeToLive;
+
+	private final Clock clock;
+
+	StagingProfileCache(Path file, Duration timeToLive) {
+		this(file, timeToLive, Clock.systemUTC());
+	}
+
+	StagingProfileCache(Path file, Duration timeToLive, Clock clock) {
+		this.file = file;
+		this.timeToLive = timeToLive;
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns the cached ID of the staging profile with the given name.
+	 * @param name the name of the staging profile
+	 * @return the ID or {@code null} if it is not cached or its entry has expired
+	 */
+	synchronized String get(String name) {
+		Entry entry = read().get(name);
+		if (entry == null || entry.cached().plus(this.timeToLive).isBefore(this.clock.instant())) {
+			return null;
+		}
+		return entry.id();
+	}
+
+	/**
+	 * Caches the ID of the staging profile with the given name.
+	 * @param name the name of the staging profile
+	 * @param id the ID of the staging profile
+	 */
+	synchronized void put(String name, String id) {
+		if (this.file == null) {
+			return;
+		}
+		Map<String, Entry> entries = read();
+		entries.put(name, new Entry(id, this.clock.instant()));
+		write(entries);
+	}
+
+	/**
+	 * Evicts the given ID of the staging profile with the given name.
+	 * @param name the name of the staging profile
+	 * @param id the ID of the staging profile
+	 * @return {@code true} if the ID was cached and has been evicted
+	 */
+	synchronized boolean evict(String name, String id) {
+		Map<String, Entry> entries = read();
+		Entry entry = entries.get(name);
+		if (entry == null || !entry.id().equals(id)) {
+			return false;
+		}
+		entries.remove(name);
+		write(entries);
+		return true;
+	}
+
+	private Map<String, Entry> read() {
+		Map<String, Entry> entries = new LinkedHashMap<>();
+		if (this.file == null || !Files.isRegularFile(this.file)) {
+			return entries;
+		}
+		try {
+			for (String line : Files.readAllLines(this.file, StandardCharsets.UTF_8)) {
+				String[] components = line.split(SEPARATOR);
+				if (components.length == 3) {
+					entries.put(components[0], new Entry(components[1], Instant.parse(components[2])));
+				}
+			}
+		}
+		catch (Exception ex) {
+			logger.warn("Failed to read staging profile cache '{}'", this.file, ex);
+		}
+		return entries;
+	}
+
+	private void write(Map<String, Entry> entries) {
+		List<String> lines = new ArrayList<>();
+		entries.forEach((name, entry) -> lines.add(name + SEPARATOR + entry.id() + SEPARATOR + entry.cached()));
+		try {
+			Path directory = this.file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, this.file.getFileName().toString(), ".tmp");
+			Files.write(temp, lines, StandardCharsets.UTF_8);
+			Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write staging profile cache '{}'", this.file, ex);
+		}
+	}
+
+	private record Entry(String id, Instant cached) {
+
+	}
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.logging.log4j.util.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Validates deployable artifacts against the rules that are applied when a staging
+ * repository is closed, allowing a release that would be rejected to fail before any of
+ * its artifacts have been uploaded. Every artifact must be signed and, when checksums are
+ * required, have MD5 and SHA-1 checksums. Every jar must be accompanied by sources and
+ * javadoc jars, and every POM must provide the project's coordinates, name, description,
+ * URL, licenses, developers, and SCM URL. Elements may be inherited from a parent POM
+ * that is part of the release. Elements of POMs whose parent is not part of the release
+ * are assumed to be inherited as the parent cannot be checked.
+ */
+class StagingRulesValidator {
+
+	private static final Logger logger = LoggerFactory.getLogger(StagingRulesValidator.class);
+
+	private static final List<String> REQUIRED_POM_ELEMENTS = List.of("name", "description", "url", "licenses",
+			"developers", "scm");
+
+	private static final int MAX_PARENTS = 16;
+
+	private final boolean checksumsRequired;
+
+	/**
+	 * Creates a new validator.
+	 * @param checksumsRequired whether every artifact must have MD5 and SHA-1 checksum
+	 * files, either on disk or generated before validation
+	 */
+	StagingRulesValidator(boolean checksumsRequired) {
+		this.checksumsRequired = checksumsRequired;
+	}
+
+	/**
+	 * Validates the given artifacts.
+	 * @param artifacts the artifacts to validate
+	 * @throws RuntimeException if any of the artifacts do not meet the rules
+	 */
+	void validate(Collection<DeployableArtifact> artifacts) {
+		long start = System.nanoTime();
+		Map<String, DeployableArtifact> artifactsByPath = artifacts.stream()
+			.collect(Collectors.toMap(DeployableArtifact::getPath, Function.identity(), (first, second) -> first));
+		List<String> parseProblems = new ArrayList<>();
+		Map<String, Element> projects = parsePoms(artifacts, parseProblems);
+		Map<String, Element> projectsByCoordinates = new HashMap<>();
+		projects.values().forEach((project) -> projectsByCoordinates.putIfAbsent(coordinates(project), project));
+		List<String> problems = Stream
+			.concat(parseProblems.stream(),
+					artifacts.parallelStream()
+						.filter((artifact) -> !artifact.isChecksumOrSignature())
+						.flatMap((artifact) -> validate(artifact, artifactsByPath.keySet(),
+								projects.get(artifact.getPath()), projectsByCoordinates)
+							.stream()))
+			.sorted()
+			.toList();
+		if (!problems.isEmpty()) {
+			logger.error("Validation failed:\n{}",
+					Strings.join(problems.stream().map((problem) -> "    " + problem).toList(), '\n'));
+			throw new RuntimeException("Validation failed");
+		}
+		logger.info("Validated {} artifacts in {} ms", artifacts.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private Map<String, Element> parsePoms(Collection<DeployableArtifact> artifacts, List<String> problems) {
+		Map<String, Element> projects = new ConcurrentHashMap<>();
+		Queue<String> parseProblems = new ConcurrentLinkedQueue<>();
+		artifacts.parallelStream().filter((artifact) -> artifact.getPath().endsWith(".pom")).forEach((pom) -> {
+			try (InputStream input = pom.getResource().getInputStream()) {
+				projects.put(pom.getPath(), parse(input).getDocumentElement());
+			}
+			catch (IOException | SAXException | ParserConfigurationException ex) {
+				parseProblems.add(pom.getPath() + " could not be parsed: " + ex.getMessage());
+			}
+		});
+		problems.addAll(parseProblems);
+		return projects;
+	}
+
+	private List<String> validate(DeployableArtifact artifact, Set<String> paths, Element project,
+			Map<String, Element> projectsByCoordinates) {
+		List<String> problems = new ArrayList<>();
+		String path = artifact.getPath();
+		Stream<String> suffixes = this.checksumsRequired ? Stream.of(".asc", ".md5", ".sha1") : Stream.of(".asc");
+		suffixes.filter((suffix) -> !paths.contains(path + suffix))
+			.forEach((suffix) -> problems.add(path + " has no " + suffix + " file"));
+		if (path.endsWith(".pom")) {
+			String base = path.substring(0, path.length() - ".pom".length());
+			if (paths.contains(base + ".jar")) {
+				Stream.of("-sources.jar", "-javadoc.jar")
+					.filter((suffix) -> !paths.contains(base + suffix))
+					.forEach((suffix) -> problems.add(path + " has no " + base + suffix));
+			}
+			if (project != null) {
+				validatePom(artifact, project, projectsByCoordinates, problems);
+			}
+		}
+		return problems;
+	}
+
+	private void validatePom(DeployableArtifact pom, Element project, Map<String, Element> projectsByCoordinates,
+			List<String> problems) {
+		Element parent = child(project, "parent");
+		for (String coordinate : List.of("groupId", "artifactId", "version")) {
+			if (!hasText(project, coordinate) && (coordinate.equals("artifactId") || !hasText(parent, coordinate))) {
+				problems.add(pom.getPath() + " has no <" + coordinate + ">");
+			}
+		}
+		String version = text(child(project, "version"));
+		if (version != null && version.endsWith("-SNAPSHOT")) {
+			problems.add(pom.getPath() + " has a snapshot <version>");
+		}
+		for (String element : REQUIRED_POM_ELEMENTS) {
+			if (!isProvided(project, element, projectsByCoordinates)) {
+				problems.add(pom.getPath() + " has no <" + element + ">");
+			}
+		}
+		Element scm = find(project, "scm", projectsByCoordinates);
+		if (scm != null && !hasText(scm, "url")) {
+			problems.add(pom.getPath() + " has no <scm><url>");
+		}
+	}
+
+	/**
+	 * Returns whether the given element is declared by the project or inherited from one
+	 * of its parents. An element is assumed to be inherited when a parent is not part of
+	 * the release.
+	 */
+	private boolean isProvided(Element project, String name, Map<String, Element> projectsByCoordinates) {
+		Element current = project;
+		for (int depth = 0; depth < MAX_PARENTS; depth++) {
+			if (child(current, name) != null) {
+				return true;
+			}
+			Element parent = child(current, "parent");
+			if (parent == null) {
+				return false;
+			}
+			current = projectsByCoordinates.get(parentCoordinates(parent));
+			if (current == null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Element find(Element project, String name, Map<String, Element> projectsByCoordinates) {
+		Element current = project;
+		for (int depth = 0; current != null && depth < MAX_PARENTS; depth++) {
+			Element element = child(current, name);
+			if (element != null) {
+				return element;
+			}
+			Element parent = child(current, "parent");
+			current = (parent != null) ? projectsByCoordinates.get(parentCoordinates(parent)) : null;
+		}
+		return null;
+	}
+
+	private String coordinates(Element project) {
+		Element parent = child(project, "parent");
+		String groupId = hasText(project, "groupId") ? text(child(project, "groupId")) : text(child(parent, "groupId"));
+		String version = hasText(project, "version") ? text(child(project, "version")) : text(child(parent, "version"));
+		return groupId + ":" + text(child(project, "artifactId")) + ":" + version;
+	}
+
+	private String parentCoordinates(Element parent) {
+		return text(child(parent, "groupId")) + ":" + text(child(parent, "artifactId")) + ":"
+				+ text(child(parent, "version"));
+	}
+
+	private Document parse(InputStream input) throws ParserConfigurationException, SAXException, IOException {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+		// Parent POMs are read concurrently so the DOM must be fully expanded when parsed
+		factory.setFeature("http://apache.org/xml/features/dom/defer-node-expansion", false);
+		return factory.newDocumentBuilder().parse(input);
+	}
+
+	private boolean hasText(Element element, String name) {
+		return element != null && StringUtils.hasText(text(child(element, name)));
+	}
+
+	private String text(Element element) {
+		return (element != null) ? element.getTextContent().trim() : null;
+	}
+
+	private Element child(Element element, String name) {
+		if (element == null) {
+			return null;
+		}
+		for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child instanceof Element candidate && name.equals(candidate.getTagName())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+}
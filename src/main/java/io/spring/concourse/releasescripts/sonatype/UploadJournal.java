@@ -0,0 +1,238 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * Local journal of the staging repository used by a release and of the artifacts that
+ * have been successfully deployed to it, allowing a failed deploy to be resumed. Each
+ * entry is appended and flushed as soon as an artifact has been deployed so that the
+ * journal survives the process being terminated.
+ */
+class UploadJournal {
+
+	private static final Logger logger = LoggerFactory.getLogger(UploadJournal.class);
+
+	private static final String BUILD = "build";
+
+	private static final String REPOSITORY = "repository";
+
+	private static final String SEPARATOR = "\t";
+
+	private final Path file;
+
+	private final String buildId;
+
+	private final Map<String, String> checksums = new ConcurrentHashMap<>();
+
+	private String repositoryId;
+
+	private BufferedWriter writer;
+
+	private UploadJournal(Path file, String buildId) {
+		this.file = file;
+		this.buildId = buildId;
+	}
+
+	/**
+	 * Returns the ID of the staging repository recorded in the journal.
+	 * @return the staging repository ID or {@code null}
+	 */
+	String getRepositoryId() {
+		return this.repositoryId;
+	}
+
+	/**
+	 * Starts a new journal for the given staging repository, discarding any existing
+	 * entries.
+	 * @param repositoryId the ID of the staging repository
+	 */
+	void start(String repositoryId) {
+		this.repositoryId = repositoryId;
+		this.checksums.clear();
+		if (this.file == null) {
+			return;
+		}
+		try {
+			Files.createDirectories(this.file.toAbsolutePath().getParent());
+			this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8);
+			write(BUILD, this.buildId);
+			write(REPOSITORY, repositoryId);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to create upload journal '" + this.file + "'", ex);
+		}
+	}
+
+	/**
+	 * Resumes the journal, retaining its entries so that artifacts that have already been
+	 * deployed are not deployed again.
+	 */
+	void resume() {
+		if (this.file == null) {
+			return;
+		}
+		try {
+			this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to open upload journal '" + this.file + "'", ex);
+		}
+	}
+
+	/**
+	 * Returns the artifacts that have not already been deployed or whose content has
+	 * changed since they were deployed.
+	 * @param artifacts the candidate artifacts
+	 * @return the artifacts that need to be deployed
+	 */
+	List<DeployableArtifact> pending(Collection<DeployableArtifact> artifacts) {
+		return artifacts.stream().filter(this::isPending).collect(Collectors.toList());
+	}
+
+	private boolean isPending(DeployableArtifact artifact) {
+		String checksum = this.checksums.get(artifact.getPath());
+		return checksum == null || !checksum.equals(checksum(artifact));
+	}
+
+	/**
+	 * Records that the given artifact has been deployed.
+	 * @param artifact the deployed artifact
+	 * @param checksum the SHA-1 checksum of the deployed content
+	 */
+	void deployed(DeployableArtifact artifact, String checksum) {
+		this.checksums.put(artifact.getPath(), checksum);
+		if (this.writer != null) {
+			try {
+				write(checksum, artifact.getPath());
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to record deploy of {} in upload journal", artifact.getPath(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the journal once the release no longer needs to be resumed.
+	 */
+	void delete() {
+		if (this.file == null) {
+			return;
+		}
+		try {
+			close();
+			Files.deleteIfExists(this.file);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to delete upload journal '{}'", this.file, ex);
+		}
+	}
+
+	private synchronized void write(String key, String value) throws IOException {
+		this.writer.write(key + SEPARATOR + value);
+		this.writer.newLine();
+		this.writer.flush();
+	}
+
+	private synchronized void close() throws IOException {
+		if (this.writer != null) {
+			this.writer.close();
+			this.writer = null;
+		}
+	}
+
+	/**
+	 * Loads the journal for the given build from the given file. Entries that were
+	 * recorded for a different build are ignored.
+	 * @param file the journal file or {@code null} if no journal should be kept
+	 * @param buildId the ID of the build being released
+	 * @return the journal
+	 */
+	static UploadJournal load(Path file, String buildId) {
+		UploadJournal journal = new UploadJournal(file, buildId);
+		if (file == null || !Files.isRegularFile(file)) {
+			return journal;
+		}
+		try {
+			List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+			if (lines.size() < 2 || !lines.get(0).equals(BUILD + SEPARATOR + buildId)) {
+				logger.info("Ignoring upload journal '{}' as it belongs to a different build", file);
+				return journal;
+			}
+			for (String line : lines.subList(1, lines.size())) {
+				String[] entry = line.split(SEPARATOR, 2);
+				if (entry.length != 2) {
+					continue;
+				}
+				if (REPOSITORY.equals(entry[0])) {
+					journal.repositoryId = entry[1];
+				}
+				else {
+					journal.checksums.put(entry[1], entry[0]);
+				}
+			}
+			return journal;
+		}
+		catch (IOException ex) {
+			logger.warn("Ignoring upload journal '{}' as it could not be read", file, ex);
+			return new UploadJournal(file, buildId);
+		}
+	}
+
+	static String checksum(DeployableArtifact artifact) {
+		MessageDigest digest = sha1();
+		try (InputStream input = new DigestInputStream(artifact.getResource().getInputStream(), digest)) {
+			StreamUtils.drain(input);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to calculate checksum of '" + artifact.getPath() + "'", ex);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	static MessageDigest sha1() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+/**
+ * Order in which artifacts are uploaded to the staging repository.
+ */
+public enum UploadOrder {
+
+	/**
+	 * Upload artifacts in the order in which they were collected.
+	 */
+	COLLECTED,
+
+	/**
+	 * Upload the largest artifacts first so that a large artifact is not left uploading
+	 * on its own once all the others are done.
+	 */
+	LARGEST_FIRST
+
+}
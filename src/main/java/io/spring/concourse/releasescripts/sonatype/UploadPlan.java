@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The order in which a collection of {@link DeployableArtifact artifacts} will be
+ * uploaded, along with a prediction of how the bytes to upload will be spread across
+ * concurrent uploads.
+ */
+class UploadPlan {
+
+	private final List<DeployableArtifact> artifacts;
+
+	private final UploadOrder order;
+
+	private UploadPlan(List<DeployableArtifact> artifacts, UploadOrder order) {
+		this.artifacts = Collections.unmodifiableList(artifacts);
+		this.order = order;
+	}
+
+	List<DeployableArtifact> getArtifacts() {
+		return this.artifacts;
+	}
+
+	UploadOrder getOrder() {
+		return this.order;
+	}
+
+	long getTotalBytes() {
+		return this.artifacts.stream().mapToLong(DeployableArtifact::getSize).sum();
+	}
+
+	/**
+	 * Predicts the number of bytes that the busiest of the given number of concurrent
+	 * uploads will transfer, assuming that each artifact is uploaded by whichever upload
+	 * becomes free first. At a constant per-upload throughput, this is proportional to
+	 * the time taken by the whole deploy.
+	 * @param concurrency the number of concurrent uploads
+	 * @return the number of bytes uploaded by the busiest upload
+	 */
+	long getBusiestUploadBytes(int concurrency) {
+		PriorityQueue<Long> loads = new PriorityQueue<>();
+		for (int i = 0; i < Math.max(1, concurrency); i++) {
+			loads.add(0L);
+		}
+		for (DeployableArtifact artifact : this.artifacts) {
+			loads.add(loads.poll() + artifact.getSize());
+		}
+		return loads.stream().mapToLong(Long::longValue).max().orElse(0);
+	}
+
+	static UploadPlan of(Collection<DeployableArtifact> artifacts, UploadOrder order) {
+		List<DeployableArtifact> ordered = new ArrayList<>(artifacts);
+		if (order == UploadOrder.LARGEST_FIRST) {
+			ordered.sort(Comparator.comparingLong(DeployableArtifact::getSize).reversed());
+		}
+		return new UploadPlan(ordered, order);
+	}
+
+}
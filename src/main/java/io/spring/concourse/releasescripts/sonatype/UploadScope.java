@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.spring.concourse.releasescripts.http.AbortableRequests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scope for a group of concurrent uploads that fails as a whole. The first upload that
+ * fails cancels every other upload in the scope, interrupting those that are in flight so
+ * that they stop streaming their content and aborting their requests so that those
+ * awaiting a response are released, and prevents any further uploads from being started.
+ * {@link #join(long)} then reports all of the failures together.
+ */
+final class UploadScope implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(UploadScope.class);
+
+	private static final Duration CANCELLATION_GRACE_PERIOD = Duration.ofSeconds(10);
+
+	private final ExecutorService executor = Executors.newCachedThreadPool((task) -> {
+		Thread thread = new Thread(task, "artifact-upload");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Map<String, RuntimeException> failures = new LinkedHashMap<>();
+
+	private final Set<AbortableRequests> inFlight = new HashSet<>();
+
+	private int running;
+
+	private int cancelled;
+
+	private boolean failed;
+
+	/**
+	 * Starts the given upload unless the scope has already failed.
+	 * @param path the path of the artifact being uploaded
+	 * @param upload the upload
+	 * @return {@code true} if the upload was started, otherwise {@code false}
+	 */
+	synchronized boolean fork(String path, Runnable upload) {
+		if (this.failed) {
+			return false;
+		}
+		this.running++;
+		this.executor.execute(() -> run(path, upload));
+		return true;
+	}
+
+	private void run(String path, Runnable upload) {
+		AbortableRequests requests = started();
+		try {
+			requests.run(upload);
+			completed(path, requests, null);
+		}
+		catch (RuntimeException ex) {
+			completed(path, requests, ex);
+		}
+	}
+
+	private synchronized AbortableRequests started() {
+		AbortableRequests requests = new AbortableRequests();
+		if (this.failed) {
+			requests.abort();
+		}
+		this.inFlight.add(requests);
+		return requests;
+	}
+
+	private synchronized void completed(String path, AbortableRequests requests, RuntimeException failure) {
+		this.running--;
+		this.inFlight.remove(requests);
+		if (failure != null) {
+			if (this.failed && Thread.currentThread().isInterrupted()) {
+				this.cancelled++;
+			}
+			else {
+				this.failures.put(path, failure);
+			}
+			if (!this.failed) {
+				this.failed = true;
+				logger.error("Deploy of {} failed. Cancelling {} other uploads", path, this.running);
+				cancel();
+			}
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Returns whether an upload in this scope has failed.
+	 * @return {@code true} if an upload has failed
+	 */
+	synchronized boolean isFailed() {
+		return this.failed;
+	}
+
+	/**
+	 * Waits for all of the uploads that have been started to complete, for an upload to
+	 * fail, or for the deadline to pass, whichever happens first.
+	 * @param deadline the deadline, in terms of {@link System#nanoTime()}
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws UploadFailedException if an upload failed
+	 * @throws TimeoutException if the deadline passes first
+	 */
+	synchronized void join(long deadline) throws InterruptedException, TimeoutException {
+		long remaining;
+		while (this.running > 0 && !this.failed && (remaining = deadline - System.nanoTime()) > 0) {
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+		if (this.failed) {
+			awaitCancellation();
+			throw new UploadFailedException(this.failures, this.cancelled + this.running);
+		}
+		if (this.running > 0) {
+			cancel();
+			throw new TimeoutException(this.running + " uploads still in flight");
+		}
+	}
+
+	private void awaitCancellation() throws InterruptedException {
+		long deadline = System.nanoTime() + CANCELLATION_GRACE_PERIOD.toNanos();
+		long remaining;
+		while (this.running > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+			TimeUnit.NANOSECONDS.timedWait(this, remaining);
+		}
+	}
+
+	private void cancel() {
+		this.executor.shutdownNow();
+		this.inFlight.forEach(AbortableRequests::abort);
+	}
+
+	/**
+	 * Closes the scope, cancelling any uploads that are still in flight and waiting for
+	 * them to stop.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (this.running > 0) {
+				cancel();
+			}
+			this.executor.shutdown();
+		}
+		try {
+			if (!this.executor.awaitTermination(CANCELLATION_GRACE_PERIOD.toMillis(), TimeUnit.MILLISECONDS)) {
+				logger.warn("Uploads did not stop within {} of being cancelled", CANCELLATION_GRACE_PERIOD);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Exception thrown when an upload in an {@link UploadScope} fails.
+	 */
+	static final class UploadFailedException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		UploadFailedException(Map<String, RuntimeException> failures, int cancelled) {
+			super(message(failures, cancelled), failures.values().iterator().next());
+			failures.values().stream().skip(1).forEach(this::addSuppressed);
+		}
+
+		private static String message(Map<String, RuntimeException> failures, int cancelled) {
+			StringBuilder message = new StringBuilder();
+			message.append(failures.size())
+				.append(" upload(s) failed and ")
+				.append(cancelled)
+				.append(" in-flight upload(s) were cancelled:");
+			failures.forEach(
+					(path, failure) -> message.append("\n    ").append(path).append(": ").append(failure.getMessage()));
+			return message.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.support;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.Assert;
+
+/**
+ * Exponential backoff with jitter. The delay before a given attempt is chosen at random
+ * below a ceiling that doubles with each attempt, starting from an initial value, until
+ * it reaches a maximum. Full jitter, between zero and the ceiling, spreads out retries of
+ * contended requests. Bounded jitter, between half the ceiling and the ceiling, suits
+ * polling, where the delay should not collapse once the ceiling has been reached.
+ */
+public final class Backoff {
+
+	private final Duration initial;
+
+	private final Duration maximum;
+
+	public Backoff(Duration initial, Duration maximum) {
+		Assert.isTrue(!initial.isNegative(), "Initial backoff must not be negative");
+		Assert.isTrue(maximum.compareTo(initial) >= 0, "Maximum backoff must not be less than initial backoff");
+		this.initial = initial;
+		this.maximum = maximum;
+	}
+
+	/**
+	 * Returns the upper bound of the delay before the given retry.
+	 * @param retry the number of the retry, starting from 1
+	 * @return the upper bound of the delay
+	 */
+	public Duration getCeiling(int retry) {
+		long initialMillis = this.initial.toMillis();
+		long maximumMillis = this.maximum.toMillis();
+		int shift = Math.min(Math.max(retry - 1, 0), 62);
+		if (initialMillis > (maximumMillis >> shift)) {
+			return this.maximum;
+		}
+		return Duration.ofMillis(initialMillis << shift);
+	}
+
+	/**
+	 * Returns a randomized delay before the given retry that is between zero and its
+	 * ceiling.
+	 * @param retry the number of the retry, starting from 1
+	 * @return the delay
+	 */
+	public Duration getDelay(int retry) {
+		long ceiling = getCeiling(retry).toMillis();
+		return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+	}
+
+	/**
+	 * Returns a randomized delay before the given retry that is at least half of its
+	 * ceiling.
+	 * @param retry the number of the retry, starting from 1
+	 * @return the delay
+	 */
+	public Duration getBoundedDelay(int retry) {
+		long ceiling = getCeiling(retry).toMillis();
+		return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.support;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the status of a long-running operation until it completes. Polls start quickly
+ * and then back off exponentially, with bounded jitter, up to a maximum interval. When a
+ * timeout is set, polling fails if the operation has not completed by an overall
+ * deadline.
+ */
+public final class Poller {
+
+	private static final Logger logger = LoggerFactory.getLogger(Poller.class);
+
+	private final Backoff backoff;
+
+	private final Duration timeout;
+
+	/**
+	 * Creates a new {@code Poller}.
+	 * @param backoff the backoff between status requests
+	 * @param timeout the maximum time to wait for the operation to complete or
+	 * {@code null} to wait indefinitely
+	 */
+	public Poller(Backoff backoff, Duration timeout) {
+		this.backoff = backoff;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Polls the status of the given operation until it is complete.
+	 * @param <T> the type of the status
+	 * @param operation the description of the operation
+	 * @param status supplier of the operation's current status
+	 * @param complete predicate that tests whether a status indicates that the operation
+	 * is complete
+	 * @return the status of the completed operation
+	 * @throws RuntimeException if the operation does not complete before the deadline
+	 */
+	public <T> T poll(String operation, Supplier<T> status, Predicate<T> complete) {
+		long start = System.nanoTime();
+		for (int poll = 1;; poll++) {
+			T current = status.get();
+			if (complete.test(current)) {
+				logger.info("{} completed in {} ms after {} status requests", operation,
+						Duration.ofNanos(System.nanoTime() - start).toMillis(), poll);
+				return current;
+			}
+			long delay = this.backoff.getBoundedDelay(poll).toNanos();
+			if (this.timeout != null) {
+				long remaining = start + this.timeout.toNanos() - System.nanoTime();
+				if (remaining <= 0) {
+					throw new RuntimeException(operation + " did not complete within " + this.timeout);
+				}
+				delay = Math.min(delay, remaining);
+			}
+			logger.debug("{} in progress. Polling again in {} ms", operation, delay / 1_000_000);
+			try {
+				Thread.sleep(delay / 1_000_000, (int) (delay % 1_000_000));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for " + operation, ex);
+			}
+		}
+	}
+
+}
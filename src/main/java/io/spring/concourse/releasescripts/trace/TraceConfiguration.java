@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.trace;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for recording the observations of a release as a trace when the
+ * {@code trace.file} property is set.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TraceConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "trace", name = "file")
+	TraceObservationHandler traceObservationHandler(TraceRecorder recorder) {
+		return new TraceObservationHandler(recorder);
+	}
+
+}
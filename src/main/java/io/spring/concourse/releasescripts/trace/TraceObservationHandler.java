@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.trace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+
+/**
+ * {@link ObservationHandler} that records a span in a {@link TraceRecorder} for each
+ * observation, such as a command, a phase of a release, an artifact upload, or an HTTP
+ * request.
+ */
+public class TraceObservationHandler implements ObservationHandler<Observation.Context> {
+
+	private final TraceRecorder recorder;
+
+	public TraceObservationHandler(TraceRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	@Override
+	public void onStart(Observation.Context context) {
+		context.put(Start.class, new Start(System.nanoTime(), Thread.currentThread()));
+	}
+
+	@Override
+	public void onStop(Observation.Context context) {
+		long end = System.nanoTime();
+		Start start = context.get(Start.class);
+		if (start == null) {
+			return;
+		}
+		Map<String, String> args = new LinkedHashMap<>();
+		for (KeyValue keyValue : context.getAllKeyValues()) {
+			args.put(keyValue.getKey(), keyValue.getValue());
+		}
+		if (context.getError() != null) {
+			args.put("error", context.getError().toString());
+		}
+		this.recorder.record(name(context), context.getName(), start.nanos(), end, start.thread(), args);
+	}
+
+	private String name(Observation.Context context) {
+		if (context instanceof ClientRequestObservationContext) {
+			KeyValue method = context.getLowCardinalityKeyValue("method");
+			KeyValue uri = context.getLowCardinalityKeyValue("uri");
+			if (method != null && uri != null) {
+				return method.getValue() + " " + uri.getValue();
+			}
+		}
+		return (context.getContextualName() != null) ? context.getContextualName() : context.getName();
+	}
+
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return true;
+	}
+
+	private record Start(long nanos, Thread thread) {
+
+	}
+
+}
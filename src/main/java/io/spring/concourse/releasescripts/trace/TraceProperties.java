@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.trace;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@link ConfigurationProperties @ConfigurationProperties} for tracing.
+ */
+@ConfigurationProperties(prefix = "trace")
+public class TraceProperties {
+
+	/**
+	 * Location of the file to which a timeline of the command, its phases, its uploads,
+	 * and its HTTP requests is written, in the Chrome trace event format, when the
+	 * command exits. When not set, no timeline is recorded.
+	 */
+	private Path file;
+
+	public Path getFile() {
+		return this.file;
+	}
+
+	public void setFile(Path file) {
+		this.file = file;
+	}
+
+}
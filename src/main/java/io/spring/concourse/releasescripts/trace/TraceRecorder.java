@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.trace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Records spans of work, each with its timing and the thread that performed it, and
+ * writes them to a file in the Chrome trace event format that can be opened in Perfetto
+ * or {@code chrome://tracing}. Spans are recorded without locking so that recording does
+ * not serialize concurrent uploads. When no file has been configured, nothing is
+ * recorded.
+ */
+@Component
+public class TraceRecorder {
+
+	private static final Logger logger = LoggerFactory.getLogger(TraceRecorder.class);
+
+	private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+
+	private final long origin = System.nanoTime();
+
+	private final Path file;
+
+	private final ObjectMapper objectMapper;
+
+	public TraceRecorder(TraceProperties properties, ObjectMapper objectMapper) {
+		this.file = properties.getFile();
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Returns whether spans are being recorded.
+	 * @return {@code true} if spans are being recorded
+	 */
+	public boolean isEnabled() {
+		return this.file != null;
+	}
+
+	/**
+	 * Records a completed span.
+	 * @param name the name of the span
+	 * @param category the category of the span
+	 * @param startNanos when the span started, in terms of {@link System#nanoTime()}
+	 * @param endNanos when the span ended, in terms of {@link System#nanoTime()}
+	 * @param thread the thread that performed the work
+	 * @param args additional information about the span
+	 */
+	public void record(String name, String category, long startNanos, long endNanos, Thread thread,
+			Map<String, String> args) {
+		if (isEnabled()) {
+			this.spans.add(new Span(name, category, startNanos - this.origin, endNanos - startNanos, thread.getId(),
+					thread.getName(), args));
+		}
+	}
+
+	/**
+	 * Writes the recorded spans to the configured file, if any. A failure to write the
+	 * spans is logged rather than thrown so that it does not affect the outcome of the
+	 * command.
+	 */
+	public void export() {
+		if (!isEnabled()) {
+			return;
+		}
+		try {
+			Files.createDirectories(this.file.toAbsolutePath().getParent());
+			this.objectMapper.writeValue(this.file.toFile(), Map.of("traceEvents", traceEvents()));
+			logger.info("Trace of {} spans written to {}", this.spans.size(), this.file);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write trace to '{}'", this.file, ex);
+		}
+	}
+
+	private List<Map<String, Object>> traceEvents() {
+		List<Span> spans = new ArrayList<>(this.spans);
+		spans.sort(Comparator.comparingLong(Span::startNanos));
+		List<Map<String, Object>> events = new ArrayList<>();
+		Map<Long, String> threadNames = new LinkedHashMap<>();
+		for (Span span : spans) {
+			threadNames.putIfAbsent(span.threadId(), span.threadName());
+		}
+		threadNames.forEach((threadId, threadName) -> {
+			Map<String, Object> event = new LinkedHashMap<>();
+			event.put("name", "thread_name");
+			event.put("ph", "M");
+			event.put("pid", 1);
+			event.put("tid", threadId);
+			event.put("args", Map.of("name", threadName));
+			events.add(event);
+		});
+		for (Span span : spans) {
+			Map<String, Object> event = new LinkedHashMap<>();
+			event.put("name", span.name());
+			event.put("cat", span.category());
+			event.put("ph", "X");
+			event.put("ts", TimeUnit.NANOSECONDS.toMicros(span.startNanos()));
+			event.put("dur", TimeUnit.NANOSECONDS.toMicros(span.durationNanos()));
+			event.put("pid", 1);
+			event.put("tid", span.threadId());
+			event.put("args", span.args());
+			events.add(event);
+		}
+		return events;
+	}
+
+	private record Span(String name, String category, long startNanos, long durationNanos, long threadId,
+			String threadName, Map<String, String> args) {
+
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.artifactory;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.ReleaseType;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link ArtifactoryService} promoting builds asynchronously.
+ */
+class ArtifactoryServiceAsynchronousPromotionTests {
+
+	private static final String PROMOTION_URL = "https://repo.spring.io/api/build/promote/"
+			+ "example-build/example-build-1";
+
+	private static final String BUILD_INFO_URL = "https://repo.spring.io/api/build/example-build/example-build-1";
+
+	private final MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private ArtifactoryService service;
+
+	private MockRestServiceServer server;
+
+	@BeforeEach
+	void setUp() {
+		ArtifactoryProperties properties = new ArtifactoryProperties();
+		properties.setUrl("https://repo.spring.io");
+		properties.getPromotion().setMode(PromotionMode.ASYNCHRONOUS);
+		properties.getPromotion().setInitialPollingInterval(Duration.ofMillis(1));
+		properties.getPromotion().setPollingInterval(Duration.ofMillis(5));
+		properties.getPromotion().setPollingTimeout(Duration.ofSeconds(5));
+		this.service = new TestServices(this.meterRegistry)
+			.artifactoryService(new RestTemplateBuilder(this.customizer), properties);
+		this.server = this.customizer.getServer();
+	}
+
+	@Test
+	void promoteConfirmsPromotionAndCountsArtifacts() {
+		this.server.expect(requestTo(PROMOTION_URL)).andExpect(method(HttpMethod.POST)).andRespond(withSuccess());
+		this.server.expect(requestTo(BUILD_INFO_URL))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withJsonFrom("build-info-response.json"));
+		this.service.promote(ReleaseType.RELEASE, getReleaseInfo());
+		this.server.verify();
+		assertThat(this.meterRegistry.get("releasescripts.promotion.artifacts").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void promoteWhenRequestFailsWithGatewayTimeoutPollsUntilPromoted() {
+		this.server.expect(requestTo(PROMOTION_URL)).andRespond(withStatus(HttpStatus.GATEWAY_TIMEOUT));
+		this.server.expect(requestTo(BUILD_INFO_URL)).andRespond(withJsonFrom("staged-build-info-response.json"));
+		this.server.expect(requestTo(BUILD_INFO_URL)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+		this.server.expect(requestTo(BUILD_INFO_URL)).andRespond(withJsonFrom("build-info-response.json"));
+		this.service.promote(ReleaseType.RELEASE, getReleaseInfo());
+		this.server.verify();
+	}
+
+	@Test
+	void promoteWhenArtifactsAlreadyPromoted() {
+		this.server.expect(requestTo(PROMOTION_URL)).andRespond(withStatus(HttpStatus.CONFLICT));
+		this.server.expect(requestTo(BUILD_INFO_URL)).andRespond(withJsonFrom("build-info-response.json"));
+		this.service.promote(ReleaseType.RELEASE, getReleaseInfo());
+		this.server.verify();
+	}
+
+	@Test
+	void promoteWhenPromotionFails() {
+		this.server.expect(requestTo(PROMOTION_URL)).andRespond(withStatus(HttpStatus.CONFLICT));
+		this.server.expect(requestTo(BUILD_INFO_URL)).andRespond(withJsonFrom("staged-build-info-response.json"));
+		assertThatExceptionOfType(HttpClientErrorException.class)
+			.isThrownBy(() -> this.service.promote(ReleaseType.RELEASE, getReleaseInfo()));
+		this.server.verify();
+	}
+
+	@Test
+	void promoteWhenRequestFailsWithServerErrorAndBuildIsInTargetRepositoryThrowsException() {
+		this.server.expect(requestTo(PROMOTION_URL)).andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+		this.server.expect(requestTo(BUILD_INFO_URL)).andRespond(withJsonFrom("build-info-response.json"));
+		assertThatExceptionOfType(HttpServerErrorException.class)
+			.isThrownBy(() -> this.service.promote(ReleaseType.RELEASE, getReleaseInfo()));
+		this.server.verify();
+		assertThat(this.meterRegistry.get("releasescripts.promotion.artifacts").counter().count()).isZero();
+	}
+
+	private ReleaseInfo getReleaseInfo() {
+		ReleaseInfo releaseInfo = new ReleaseInfo();
+		releaseInfo.setBuildName("example-build");
+		releaseInfo.setBuildNumber("example-build-1");
+		return releaseInfo;
+	}
+
+	private DefaultResponseCreator withJsonFrom(String path) {
+		return withSuccess(new ClassPathResource(path, getClass()), MediaType.APPLICATION_JSON);
+	}
+
+}
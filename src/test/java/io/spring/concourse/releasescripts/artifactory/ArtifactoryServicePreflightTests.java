@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.artifactory;
+
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.ReleaseType;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+import org.springframework.web.client.HttpClientErrorException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link ArtifactoryService} checking the status of builds before promoting
+ * them and simulating promotions.
+ */
+class ArtifactoryServicePreflightTests {
+
+	private static final String PROMOTION_URL = "https://repo.spring.io/api/build/promote/"
+			+ "example-build/example-build-1";
+
+	private static final String BUILD_INFO_URL = "https://repo.spring.io/api/build/example-build/example-build-1";
+
+	private final MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+
+	@Test
+	void promoteWithPreflightWhenAlreadyPromotedOnlyChecksStatus() {
+		ArtifactoryService service = createService(true, false);
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(requestTo(BUILD_INFO_URL))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withJsonFrom("build-info-response.json"));
+		assertThat(service.promote(ReleaseType.RELEASE, getReleaseInfo())).isEqualTo(PromotionResult.ALREADY_PROMOTED);
+		server.verify();
+	}
+
+	@Test
+	void promoteWithPreflightDoesNotBindModules() {
+		ArtifactoryService service = createService(true, false);
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(requestTo(BUILD_INFO_URL))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withSuccess("""
+					{"buildInfo": {"statuses": [{"status": "staged", "repository": "libs-release-local"}],
+					"modules": [{"id": {"unexpected": "object"}, "artifacts": [{"name": "example.jar"}]}]}}""",
+					MediaType.APPLICATION_JSON));
+		assertThat(service.promote(ReleaseType.RELEASE, getReleaseInfo())).isEqualTo(PromotionResult.ALREADY_PROMOTED);
+		server.verify();
+	}
+
+	@Test
+	void promoteWithPreflightWhenNotPromotedPromotes() {
+		ArtifactoryService service = createService(true, false);
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(requestTo(BUILD_INFO_URL))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withJsonFrom("staged-build-info-response.json"));
+		server.expect(requestTo(PROMOTION_URL))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect(content().json("{\"targetRepo\": \"libs-release-local\"}"))
+			.andExpect(content().string(not(containsString("dryRun"))))
+			.andRespond(withSuccess());
+		assertThat(service.promote(ReleaseType.RELEASE, getReleaseInfo())).isEqualTo(PromotionResult.PROMOTED);
+		server.verify();
+	}
+
+	@Test
+	void promoteWithDryRunSimulatesPromotion() {
+		ArtifactoryService service = createService(false, true);
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(requestTo(PROMOTION_URL))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect(content().json("{\"targetRepo\": \"libs-release-local\", \"dryRun\": true}"))
+			.andRespond(withSuccess());
+		assertThat(service.promote(ReleaseType.RELEASE, getReleaseInfo())).isEqualTo(PromotionResult.DRY_RUN);
+		server.verify();
+	}
+
+	@Test
+	void promoteWithDryRunWhenConflictFails() {
+		ArtifactoryService service = createService(false, true);
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(requestTo(PROMOTION_URL)).andRespond(withStatus(HttpStatus.CONFLICT));
+		server.expect(requestTo(BUILD_INFO_URL)).andRespond(withJsonFrom("staged-build-info-response.json"));
+		assertThatExceptionOfType(HttpClientErrorException.class)
+			.isThrownBy(() -> service.promote(ReleaseType.RELEASE, getReleaseInfo()));
+		server.verify();
+	}
+
+	private ArtifactoryService createService(boolean preflight, boolean dryRun) {
+		ArtifactoryProperties properties = new ArtifactoryProperties();
+		properties.setUrl("https://repo.spring.io");
+		properties.getPromotion().setPreflight(preflight);
+		properties.getPromotion().setDryRun(dryRun);
+		return new TestServices().artifactoryService(new RestTemplateBuilder(this.customizer), properties);
+	}
+
+	private ReleaseInfo getReleaseInfo() {
+		ReleaseInfo releaseInfo = new ReleaseInfo();
+		releaseInfo.setBuildName("example-build");
+		releaseInfo.setBuildNumber("example-build-1");
+		return releaseInfo;
+	}
+
+	private DefaultResponseCreator withJsonFrom(String path) {
+		return withSuccess(new ClassPathResource(path, getClass()), MediaType.APPLICATION_JSON);
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.artifactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.artifactory.BuildInfoReader.BuildStatus;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Artifact;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Module;
+import io.spring.concourse.releasescripts.artifactory.payload.BuildInfoResponse.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BuildInfoReader}.
+ */
+class BuildInfoReaderTests {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private final BuildInfoReader reader = new BuildInfoReader(this.objectMapper);
+
+	@TempDir
+	Path temp;
+
+	@ParameterizedTest
+	@ValueSource(strings = { "build-info-response.json", "filtered-build-info-response.json" })
+	void readReleaseInfoMatchesReleaseInfoFromBoundBuildInfo(String name) throws IOException {
+		Path buildInfo = new ClassPathResource(name, getClass()).getFile().toPath();
+		ReleaseInfo expected = ReleaseInfo
+			.from(this.objectMapper.readValue(buildInfo.toFile(), BuildInfoResponse.class).getBuildInfo());
+		ReleaseInfo releaseInfo = this.reader.readReleaseInfo(buildInfo);
+		assertThat(releaseInfo).usingRecursiveComparison().isEqualTo(expected);
+	}
+
+	@Test
+	void readReleaseInfoWhenNameAndNumberFollowModules() throws IOException {
+		Path buildInfo = write("""
+				{"buildInfo": {"modules": [
+				{"id": "org.example:example-docs:1.0.0", "artifacts": [{"type": "zip"}]},
+				{"artifacts": [{"type": "pom"}, {"type": "jar"}], "id": "org.example:example:1.0.0"},
+				{"id": "org.example:other:1.0.0", "artifacts": [{"type": "jar"}]}],
+				"name": "example", "number": "42"}}""");
+		ReleaseInfo releaseInfo = this.reader.readReleaseInfo(buildInfo);
+		assertThat(releaseInfo.getBuildName()).isEqualTo("example");
+		assertThat(releaseInfo.getBuildNumber()).isEqualTo("42");
+		assertThat(releaseInfo.getGroupId()).isEqualTo("org.example");
+		assertThat(releaseInfo.getVersion()).isEqualTo("1.0.0");
+		assertThat(releaseInfo.getMarkerArtifact().getArtifactId()).isEqualTo("example");
+	}
+
+	@Test
+	void readReleaseInfoWhenNoJarModuleThrowsException() throws IOException {
+		Path buildInfo = write("""
+				{"buildInfo": {"name": "example", "number": "42", "modules": [
+				{"id": "org.example:example-docs:1.0.0", "artifacts": [{"type": "zip"}]}]}}""");
+		assertThatIllegalStateException().isThrownBy(() -> this.reader.readReleaseInfo(buildInfo))
+			.withMessage("Could not find Jar module in build info: 42");
+	}
+
+	@Test
+	void modulesReadsEachModule() throws IOException {
+		Path buildInfo = new ClassPathResource("filtered-build-info-response.json", getClass()).getFile().toPath();
+		try (Stream<Module> modules = this.reader.modules(buildInfo)) {
+			assertThat(modules.map(Module::getId)).containsExactly("org.example.demo:demo:2.2.0",
+					"org.example.demo:demo:2.2.0:zip", "org.example.demo:demo:2.2.0:doc");
+		}
+	}
+
+	@Test
+	void artifactsReadsArtifactsOfEachModule() throws IOException {
+		Path buildInfo = new ClassPathResource("filtered-build-info-response.json", getClass()).getFile().toPath();
+		try (Stream<Artifact> artifacts = this.reader.artifacts(buildInfo)) {
+			assertThat(artifacts.map(Artifact::getName)).containsExactly("demo-2.2.0.jar", "demo-2.2.0.zip",
+					"demo-2.2.0.doc");
+		}
+	}
+
+	@Test
+	void modulesWhenBuildInfoHasNoModulesIsEmpty() throws IOException {
+		Path buildInfo = write("{\"buildInfo\": {\"name\": \"example\", \"number\": \"42\"}}");
+		try (Stream<Module> modules = this.reader.modules(buildInfo)) {
+			assertThat(modules).isEmpty();
+		}
+	}
+
+	@Test
+	void readBuildStatusReadsStatusesAndCountsArtifacts() throws IOException {
+		try (InputStream buildInfo = new ClassPathResource("filtered-build-info-response.json", getClass())
+			.getInputStream()) {
+			BuildStatus status = this.reader.readBuildStatus(buildInfo);
+			assertThat(status.statuses()).extracting(Status::getRepository).containsExactly("libs-release-local");
+			assertThat(status.artifacts()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void readBuildStatusWhenStatusesPrecedeModules() throws IOException {
+		byte[] buildInfo = """
+				{"buildInfo": {"statuses": [{"status": "staged", "repository": "libs-staging-local"}],
+				"modules": [{"id": "org.example:example:1.0.0", "artifacts": [{"type": "pom"}, {"type": "jar"}]},
+				{"id": "org.example:other:1.0.0"}]}}""".getBytes(StandardCharsets.UTF_8);
+		BuildStatus status = this.reader.readBuildStatus(new ByteArrayInputStream(buildInfo));
+		assertThat(status.statuses()).extracting(Status::getRepository).containsExactly("libs-staging-local");
+		assertThat(status.artifacts()).isEqualTo(2);
+	}
+
+	@Test
+	void readBuildStatusWhenBuildInfoHasNoStatuses() throws IOException {
+		byte[] buildInfo = "{\"buildInfo\": {\"name\": \"example\", \"number\": \"42\"}}"
+			.getBytes(StandardCharsets.UTF_8);
+		BuildStatus status = this.reader.readBuildStatus(new ByteArrayInputStream(buildInfo));
+		assertThat(status.statuses()).isNull();
+		assertThat(status.artifacts()).isZero();
+	}
+
+	private Path write(String content) throws IOException {
+		return Files.writeString(this.temp.resolve("build-info.json"), content);
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryProperties;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryService;
+import io.spring.concourse.releasescripts.standin.StandInServer;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PromoteAllCommand}.
+ */
+class PromoteAllCommandTests {
+
+	private final StandInServer server = new StandInServer().withPromotionDuration(Duration.ofMillis(500));
+
+	@TempDir
+	Path buildInfos;
+
+	private PromoteAllCommand command;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		this.server.start();
+		ArtifactoryProperties properties = new ArtifactoryProperties();
+		properties.setUrl(this.server.getUrl());
+		properties.getPromotion().setConcurrency(4);
+		ArtifactoryService service = new TestServices().artifactoryService(this.server.restTemplateBuilder(4),
+				properties);
+		this.command = new PromoteAllCommand(service, Jackson2ObjectMapperBuilder.json().build(), properties);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.server.close();
+	}
+
+	@Test
+	void runPromotesBuildsInDirectoryConcurrently() throws Exception {
+		for (int i = 1; i <= 8; i++) {
+			writeBuildInfo("project-" + i);
+		}
+		this.command.run(new DefaultApplicationArguments("promoteAll", "RELEASE", this.buildInfos.toString()));
+		assertThat(this.server.getPromotions()).hasSize(8);
+		assertThat(this.server.getPeakPromotionsInFlight()).isEqualTo(4);
+	}
+
+	@Test
+	void runWhenBuildInfoIsInvalidPromotesOtherBuildsAndThenFails() throws Exception {
+		Path one = writeBuildInfo("project-1");
+		Path invalid = Files.writeString(this.buildInfos.resolve("invalid.json"), "{");
+		Path two = writeBuildInfo("project-2");
+		assertThatIllegalStateException()
+			.isThrownBy(() -> this.command.run(new DefaultApplicationArguments("promoteAll", "RELEASE", one.toString(),
+					invalid.toString(), two.toString())))
+			.withMessage("Promotion of 1 of 3 builds failed");
+		assertThat(this.server.getPromotions()).containsOnlyKeys("project-1/1", "project-2/1");
+	}
+
+	@Test
+	void runWhenConcurrencyIsZeroThrowsException() {
+		ArtifactoryProperties properties = new ArtifactoryProperties();
+		properties.getPromotion().setConcurrency(0);
+		PromoteAllCommand command = new PromoteAllCommand(null, Jackson2ObjectMapperBuilder.json().build(), properties);
+		assertThatIllegalStateException()
+			.isThrownBy(() -> command.run(new DefaultApplicationArguments("promoteAll", "RELEASE", "build-info.json")))
+			.withMessage("Promotion concurrency must be greater than zero");
+	}
+
+	@Test
+	void contextWhenConcurrencyIsZeroStartsOtherCommands() {
+		new ApplicationContextRunner()
+			.withConfiguration(
+					AutoConfigurations.of(JacksonAutoConfiguration.class, RestTemplateAutoConfiguration.class))
+			.withUserConfiguration(CommandsConfiguration.class)
+			.withPropertyValues("artifactory.url=https://repo.example.com", "artifactory.promotion.concurrency=0")
+			.run((context) -> {
+				assertThat(context).hasNotFailed();
+				assertThat(context).hasSingleBean(PromoteCommand.class).hasSingleBean(PromoteAllCommand.class);
+			});
+	}
+
+	private Path writeBuildInfo(String name) throws IOException {
+		return Files.writeString(this.buildInfos.resolve(name + ".json"), """
+				{"buildInfo": {"name": "%1$s", "number": "1", "modules": [{"id": "org.example:%1$s:1.0.0",
+				"artifacts": [{"type": "jar", "name": "%1$s-1.0.0.jar"}]}]}}""".formatted(name));
+	}
+
+	@EnableConfigurationProperties(ArtifactoryProperties.class)
+	@Import({ ArtifactoryService.class, PromoteCommand.class, PromoteAllCommand.class })
+	static class CommandsConfiguration {
+
+	}
+
+}
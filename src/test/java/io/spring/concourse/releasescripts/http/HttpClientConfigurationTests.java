@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.http;
+
+import io.spring.concourse.releasescripts.sonatype.SonatypeProperties;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HttpClientConfiguration}.
+ */
+class HttpClientConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+		.withUserConfiguration(PropertiesConfiguration.class, HttpClientConfiguration.class);
+
+	@Test
+	void restTemplateBuilderUsesSharedHttpClient() {
+		this.contextRunner.run((context) -> {
+			CloseableHttpClient httpClient = context.getBean(CloseableHttpClient.class);
+			RestTemplateBuilder builder = context.getBean(RestTemplateBuilder.class);
+			RestTemplate first = builder.build();
+			RestTemplate second = builder.rootUri("https://example.com").build();
+			assertThat(first.getRequestFactory()).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+			assertThat(((HttpComponentsClientHttpRequestFactory) first.getRequestFactory()).getHttpClient())
+				.isSameAs(httpClient);
+			assertThat(((HttpComponentsClientHttpRequestFactory) second.getRequestFactory()).getHttpClient())
+				.isSameAs(httpClient);
+		});
+	}
+
+	@EnableConfigurationProperties({ HttpClientProperties.class, SonatypeProperties.class })
+	static class PropertiesConfiguration {
+
+	}
+
+}
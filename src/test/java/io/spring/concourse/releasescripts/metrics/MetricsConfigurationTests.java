@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link MetricsConfiguration}.
+ */
+class MetricsConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+		.withUserConfiguration(MetricsConfiguration.class);
+
+	@Test
+	void requestsAreTimedByUriTemplateAndStatus() {
+		this.contextRunner.run((context) -> {
+			RestTemplate restTemplate = context.getBean(RestTemplateBuilder.class)
+				.rootUri("https://nexus.example.org")
+				.build();
+			MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+			server.expect(requestTo("https://nexus.example.org/service/local/staging/repository/example-1"))
+				.andRespond(withSuccess());
+			server.expect(requestTo("https://nexus.example.org/service/local/staging/repository/example-2"))
+				.andRespond(withSuccess());
+			restTemplate.getForObject("/service/local/staging/repository/{id}", String.class, "example-1");
+			restTemplate.getForObject("/service/local/staging/repository/{id}", String.class, "example-2");
+			server.verify();
+			Timer timer = context.getBean(MeterRegistry.class)
+				.get(MetricsConfiguration.HTTP_CLIENT_REQUESTS)
+				.tags("uri", "/service/local/staging/repository/{id}", "status", "200", "method", "GET")
+				.timer();
+			assertThat(timer.count()).isEqualTo(2);
+			assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+		});
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MetricsExporter}.
+ */
+class MetricsExporterTests {
+
+	private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final MetricsProperties properties = new MetricsProperties();
+
+	@TempDir
+	Path temp;
+
+	@BeforeEach
+	void recordMetrics() {
+		Timer.builder("http.client.requests")
+			.tag("uri", "/service/local/staging/repository/{stagedRepositoryId}")
+			.tag("status", "200")
+			.publishPercentileHistogram()
+			.register(this.registry)
+			.record(Duration.ofMillis(250));
+		this.registry.counter("releasescripts.upload.bytes", "service", "sonatype").increment(1024);
+	}
+
+	@Test
+	void exportWhenFileIsNotSetDoesNothing() throws IOException {
+		new MetricsExporter(this.registry, this.objectMapper, this.properties).export();
+		try (var files = Files.list(this.temp)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	void exportAsJsonWritesMeasurementsAndHistogramOfEachMeter() throws IOException {
+		Path file = this.temp.resolve("metrics/metrics.json");
+		this.properties.setFile(file);
+		new MetricsExporter(this.registry, this.objectMapper, this.properties).export();
+		JsonNode meters = this.objectMapper.readTree(file.toFile()).get("meters");
+		assertThat(meters).hasSize(2);
+		JsonNode requests = meters.get(0);
+		assertThat(requests.get("name").asText()).isEqualTo("http.client.requests");
+		assertThat(requests.get("type").asText()).isEqualTo("timer");
+		assertThat(requests.get("tags").get("uri").asText())
+			.isEqualTo("/service/local/staging/repository/{stagedRepositoryId}");
+		assertThat(requests.get("measurements").get("count").asDouble()).isEqualTo(1);
+		assertThat(requests.get("measurements").get("total_time").asDouble()).isEqualTo(0.25);
+		assertThat(requests.get("histogram")).isNotEmpty();
+		JsonNode uploaded = meters.get(1);
+		assertThat(uploaded.get("name").asText()).isEqualTo("releasescripts.upload.bytes");
+		assertThat(uploaded.get("measurements").get("count").asDouble()).isEqualTo(1024);
+		assertThat(uploaded.has("histogram")).isFalse();
+	}
+
+	@Test
+	void exportAsPrometheusWritesTextExpositionFormat() throws IOException {
+		Path file = this.temp.resolve("metrics.prom");
+		this.properties.setFile(file);
+		this.properties.setFormat(MetricsFormat.PROMETHEUS);
+		new MetricsExporter(this.registry, this.objectMapper, this.properties).export();
+		assertThat(Files.readString(file)).contains("http_client_requests_seconds_bucket")
+			.contains("releasescripts_upload_bytes_total{service=\"sonatype\",} 1024.0");
+	}
+
+}
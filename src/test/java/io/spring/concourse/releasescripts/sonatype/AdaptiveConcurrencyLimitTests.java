@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AdaptiveConcurrencyLimit}.
+ */
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long LATENCY = Duration.ofMillis(100).toNanos();
+
+	@Test
+	void limitIsClampedToMinimumAndMaximum() {
+		assertThat(new AdaptiveConcurrencyLimit(64, 2, 16).getLimit()).isEqualTo(16);
+		assertThat(new AdaptiveConcurrencyLimit(0, 2, 16).getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void limitIncreasesWhileLatencyIsStable() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 8);
+		for (int i = 0; i < 100; i++) {
+			int permits = limit.getLimit();
+			for (int j = 0; j < permits; j++) {
+				assertThat(limit.acquire(Duration.ofSeconds(1))).isTrue();
+			}
+			for (int j = 0; j < permits; j++) {
+				limit.success(LATENCY, 1024);
+			}
+		}
+		assertThat(limit.getLimit()).isEqualTo(8);
+	}
+
+	@Test
+	void limitDecreasesWhenLatencyRises() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.success(LATENCY, 1024);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.success(LATENCY * 10, 1024);
+		assertThat(limit.getLimit()).isEqualTo(7);
+	}
+
+	@Test
+	void latencyIsNormalizedByArtifactSize() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.success(LATENCY, 1024);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.success(LATENCY * 10, 20 * 1024 * 1024);
+		assertThat(limit.getLimit()).isEqualTo(8);
+	}
+
+	@Test
+	void limitIsHalvedWhenServerIsOverloaded() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.overloaded(limit.getGeneration());
+		assertThat(limit.getLimit()).isEqualTo(4);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.overloaded(limit.getGeneration());
+		limit.acquire(Duration.ofSeconds(1));
+		limit.overloaded(limit.getGeneration());
+		limit.acquire(Duration.ofSeconds(1));
+		limit.overloaded(limit.getGeneration());
+		assertThat(limit.getLimit()).isEqualTo(1);
+	}
+
+	@Test
+	void limitIsHalvedOnceWhenConcurrentUploadsFailBecauseServerIsOverloaded() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+		long generation = limit.getGeneration();
+		for (int i = 0; i < 8; i++) {
+			assertThat(limit.acquire(Duration.ofSeconds(1))).isTrue();
+		}
+		for (int i = 0; i < 8; i++) {
+			limit.overloaded(generation);
+		}
+		assertThat(limit.getLimit()).isEqualTo(4);
+		limit.acquire(Duration.ofSeconds(1));
+		limit.overloaded(limit.getGeneration());
+		assertThat(limit.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void acquireWhenLimitReachedTimesOut() throws InterruptedException {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1);
+		assertThat(limit.acquire(Duration.ofSeconds(1))).isTrue();
+		assertThat(limit.acquire(Duration.ofMillis(10))).isFalse();
+		limit.failed();
+		assertThat(limit.acquire(Duration.ofMillis(10))).isTrue();
+	}
+
+}
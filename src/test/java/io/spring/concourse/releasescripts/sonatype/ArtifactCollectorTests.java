@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link ArtifactCollector}.
+ */
+class ArtifactCollectorTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void collectArtifactsCollectsRegularFilesWithTheirPathAndSize() throws IOException {
+		write("org/example/a/1.0.0/a-1.0.0.jar", "jar");
+		write("org/example/a/1.0.0/a-1.0.0.pom", "<project/>");
+		write("org/example/b/1.0.0/b-1.0.0.pom", "<project></project>");
+		Collection<DeployableArtifact> artifacts = new ArtifactCollector(List.of(), 4).collectArtifacts(this.root);
+		assertThat(artifacts).extracting(DeployableArtifact::getPath, DeployableArtifact::getSize)
+			.containsExactlyInAnyOrder(tuple("org/example/a/1.0.0/a-1.0.0.jar", 3L),
+					tuple("org/example/a/1.0.0/a-1.0.0.pom", 10L), tuple("org/example/b/1.0.0/b-1.0.0.pom", 19L));
+	}
+
+	@Test
+	void collectArtifactsExcludesArtifactsThatMatchAnyPattern() throws IOException {
+		write("build-info.json", "{}");
+		write("org/example/a/1.0.0/a-1.0.0.pom", "<project/>");
+		write("org/example/a/1.0.0/a-1.0.0.zip", "zip");
+		write("org/example/docs/1.0.0/docs-1.0.0.pom", "<project/>");
+		Collection<DeployableArtifact> artifacts = new ArtifactCollector(
+				List.of("build-info\\.json", "\\.zip$", "org/example/docs/.*"), 4)
+			.collectArtifacts(this.root);
+		assertThat(artifacts).extracting(DeployableArtifact::getPath)
+			.containsExactly("org/example/a/1.0.0/a-1.0.0.pom");
+	}
+
+	@Test
+	void collectArtifactsReturnsArtifactsInTheSameOrderForAnyNumberOfThreads() throws IOException {
+		for (int i = 0; i < 200; i++) {
+			write("org/group-" + (i % 4) + "/module-" + (i % 25) + "/1.0.0/artifact-" + i + ".jar", "");
+		}
+		List<String> sequential = paths(new ArtifactCollector(List.of(), 1).collectArtifacts(this.root));
+		List<String> concurrent = paths(new ArtifactCollector(List.of(), 8).collectArtifacts(this.root));
+		assertThat(sequential).hasSize(200);
+		assertThat(concurrent).isEqualTo(sequential);
+	}
+
+	@Test
+	void collectArtifactsWhenRootDoesNotExistThrowsException() {
+		assertThatExceptionOfType(RuntimeException.class)
+			.isThrownBy(() -> new ArtifactCollector(List.of()).collectArtifacts(this.root.resolve("missing")))
+			.withMessageContaining("Could not read artifacts from");
+	}
+
+	@Test
+	void isExcludedDirectoryWhenEveryFileBeneathItMatches() {
+		ArtifactCollector collector = new ArtifactCollector(List.of("org/example/docs/.*", "\\.zip$", "tests\\b"));
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/docs"))).isTrue();
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/docs/1.0.0"))).isTrue();
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/tests"))).isTrue();
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example"))).isFalse();
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/a.zip"))).isFalse();
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/testsuite"))).isFalse();
+	}
+
+	@Test
+	void isExcludedDirectoryWhenMatchCouldBeLostIsFalse() {
+		ArtifactCollector collector = new ArtifactCollector(List.of("docs/(?!keep)"));
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/docs"))).isFalse();
+	}
+
+	@Test
+	void isExcludedDirectoryWhenPatternUsesLookaheadAfterDirectoryIsFalse() {
+		ArtifactCollector collector = new ArtifactCollector(List.of(".*/foo/(?!keep).*"));
+		assertThat(collector.isExcludedDirectory(this.root.resolve("org/example/foo"))).isFalse();
+	}
+
+	@Test
+	void collectArtifactsWhenPatternUsesLookaheadCollectsFilesThatDoNotMatch() throws IOException {
+		write("org/example/foo/keep/1.0.0/keep-1.0.0.pom", "<project/>");
+		write("org/example/foo/other/1.0.0/other-1.0.0.pom", "<project/>");
+		Collection<DeployableArtifact> artifacts = new ArtifactCollector(List.of(".*/foo/(?!keep).*"), 4)
+			.collectArtifacts(this.root);
+		assertThat(artifacts).extracting(DeployableArtifact::getPath)
+			.containsExactly("org/example/foo/keep/1.0.0/keep-1.0.0.pom");
+	}
+
+	private List<String> paths(Collection<DeployableArtifact> artifacts) {
+		return artifacts.stream().map(DeployableArtifact::getPath).toList();
+	}
+
+	private void write(String path, String content) throws IOException {
+		Path file = this.root.resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+}
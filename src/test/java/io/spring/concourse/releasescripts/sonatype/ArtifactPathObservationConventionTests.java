@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ArtifactPathObservationConvention}.
+ */
+class ArtifactPathObservationConventionTests {
+
+	private final ArtifactPathObservationConvention convention = new ArtifactPathObservationConvention(
+			"/service/local/staging/deployByRepositoryId/{repositoryId}/",
+			"/service/local/repositories/releases/content/");
+
+	@Test
+	void uriOfArtifactRequestReplacesArtifactPath() {
+		assertThat(uri("/service/local/staging/deployByRepositoryId/{repositoryId}/org/example/a/1.0/a-1.0.jar"))
+			.isEqualTo("/service/local/staging/deployByRepositoryId/{repositoryId}/{path}");
+		assertThat(uri("/service/local/repositories/releases/content/org/example/a/1.0/a-1.0.jar.sha1"))
+			.isEqualTo("/service/local/repositories/releases/content/{path}");
+	}
+
+	@Test
+	void uriOfOtherRequestIsUriTemplate() {
+		assertThat(uri("/service/local/staging/repository/{stagedRepositoryId}"))
+			.isEqualTo("/service/local/staging/repository/{stagedRepositoryId}");
+	}
+
+	private String uri(String uriTemplate) {
+		ClientRequestObservationContext context = new ClientRequestObservationContext(
+				new MockClientHttpRequest(HttpMethod.PUT, URI.create("https://nexus.example.org")));
+		context.setUriTemplate(uriTemplate);
+		return this.convention.getLowCardinalityKeyValues(context)
+			.stream()
+			.filter((keyValue) -> keyValue.getKey().equals("uri"))
+			.findFirst()
+			.orElseThrow()
+			.getValue();
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bouncycastle.bcpg.ArmoredOutputStream;
+import org.bouncycastle.bcpg.HashAlgorithmTags;
+import org.bouncycastle.bcpg.S2K;
+import org.bouncycastle.bcpg.SecretKeyPacket;
+import org.bouncycastle.bcpg.SymmetricKeyAlgorithmTags;
+import org.bouncycastle.bcpg.sig.KeyFlags;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openpgp.PGPEncryptedData;
+import org.bouncycastle.openpgp.PGPKeyPair;
+import org.bouncycastle.openpgp.PGPKeyRingGenerator;
+import org.bouncycastle.openpgp.PGPObjectFactory;
+import org.bouncycastle.openpgp.PGPPublicKey;
+import org.bouncycastle.openpgp.PGPSecretKey;
+import org.bouncycastle.openpgp.PGPSecretKeyRing;
+import org.bouncycastle.openpgp.PGPSignature;
+import org.bouncycastle.openpgp.PGPSignatureList;
+import org.bouncycastle.openpgp.PGPSignatureSubpacketGenerator;
+import org.bouncycastle.openpgp.PGPSignatureSubpacketVector;
+import org.bouncycastle.openpgp.PGPUtil;
+import org.bouncycastle.openpgp.operator.PGPDigestCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaKeyFingerprintCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPContentSignerBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPContentVerifierBuilderProvider;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPDigestCalculatorProviderBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPKeyPair;
+import org.bouncycastle.openpgp.operator.jcajce.JcePBESecretKeyEncryptorBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.PathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ArtifactSigner}.
+ */
+class ArtifactSignerTests {
+
+	private static final BouncyCastleProvider provider = new BouncyCastleProvider();
+
+	private static PGPSecretKey secretKey;
+
+	private static String armoredKey;
+
+	private static PGPSecretKeyRing keyRingWithSubkey;
+
+	@TempDir
+	Path temp;
+
+	@BeforeAll
+	static void generateKeys() throws Exception {
+		PGPKeyPair keyPair = generateKeyPair();
+		PGPDigestCalculator sha1 = new JcaPGPDigestCalculatorProviderBuilder().build().get(HashAlgorithmTags.SHA1);
+		secretKey = new PGPSecretKey(PGPSignature.DEFAULT_CERTIFICATION, keyPair, "test@example.com", sha1, null, null,
+				new JcaPGPContentSignerBuilder(keyPair.getPublicKey().getAlgorithm(), HashAlgorithmTags.SHA256)
+					.setProvider(provider),
+				new JcePBESecretKeyEncryptorBuilder(PGPEncryptedData.AES_256, sha1).setProvider(provider)
+					.build("secret".toCharArray()));
+		armoredKey = armor(secretKey.getEncoded());
+		PGPKeyPair primaryKeyPair = generateKeyPair();
+		PGPKeyRingGenerator generator = new PGPKeyRingGenerator(PGPSignature.POSITIVE_CERTIFICATION, primaryKeyPair,
+				"test@example.com", sha1, keyFlags(KeyFlags.CERTIFY_OTHER), null,
+				new JcaPGPContentSignerBuilder(primaryKeyPair.getPublicKey().getAlgorithm(), HashAlgorithmTags.SHA256)
+					.setProvider(provider),
+				new JcePBESecretKeyEncryptorBuilder(PGPEncryptedData.AES_256, sha1).setProvider(provider)
+					.build("secret".toCharArray()));
+		generator.addSubKey(generateKeyPair(), keyFlags(KeyFlags.SIGN_DATA), null);
+		keyRingWithSubkey = generator.generateSecretKeyRing();
+	}
+
+	private static PGPKeyPair generateKeyPair() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		return new JcaPGPKeyPair(PGPPublicKey.RSA_GENERAL, generator.generateKeyPair(), new Date());
+	}
+
+	private static PGPSignatureSubpacketVector keyFlags(int flags) {
+		PGPSignatureSubpacketGenerator generator = new PGPSignatureSubpacketGenerator();
+		generator.setKeyFlags(false, flags);
+		return generator.generate();
+	}
+
+	private static String armor(byte[] encoded) throws IOException {
+		ByteArrayOutputStream armored = new ByteArrayOutputStream();
+		try (ArmoredOutputStream output = new ArmoredOutputStream(armored)) {
+			output.write(encoded);
+		}
+		return armored.toString(StandardCharsets.US_ASCII);
+	}
+
+	@Test
+	void addSignaturesSignsEachArtifact() throws Exception {
+		DeployableArtifact jar = artifact("example-1.0.0.jar", "jar content");
+		DeployableArtifact pom = artifact("example-1.0.0.pom", "<project/>");
+		List<DeployableArtifact> artifacts = new ArtifactSigner(armoredKey, "secret").addSignatures(List.of(jar, pom));
+		assertThat(artifacts).extracting(DeployableArtifact::getPath)
+			.containsExactly("example-1.0.0.jar", "example-1.0.0.pom", "example-1.0.0.jar.asc",
+					"example-1.0.0.pom.asc");
+		assertThat(verify(artifacts.get(2), "jar content")).isTrue();
+		assertThat(verify(artifacts.get(3), "<project/>")).isTrue();
+		assertThat(verify(artifacts.get(3), "<project></project>")).isFalse();
+	}
+
+	@Test
+	void addSignaturesSkipsSignedArtifactsChecksumsAndSignatures() throws IOException {
+		DeployableArtifact jar = artifact("example-1.0.0.jar", "jar content");
+		DeployableArtifact signature = artifact("example-1.0.0.jar.asc", "signature");
+		DeployableArtifact checksum = artifact("example-1.0.0.pom.sha1", "checksum");
+		List<DeployableArtifact> artifacts = new ArtifactSigner(armoredKey, "secret")
+			.addSignatures(List.of(jar, signature, checksum));
+		assertThat(artifacts).containsExactly(jar, signature, checksum);
+	}
+
+	@Test
+	void createWithIncorrectPassphraseThrowsException() {
+		assertThatIllegalStateException().isThrownBy(() -> new ArtifactSigner(armoredKey, "incorrect"))
+			.withMessage("Could not load signing key");
+	}
+
+	@Test
+	void addSignaturesWhenKeyRingHasSubkeyForSigningDataSignsWithSubkey() throws Exception {
+		DeployableArtifact jar = artifact("example-1.0.0.jar", "jar content");
+		String armoredKeyRing = armor(keyRingWithSubkey.getEncoded());
+		List<DeployableArtifact> artifacts = new ArtifactSigner(armoredKeyRing, "secret").addSignatures(List.of(jar));
+		assertThat(verify(artifacts.get(1), "jar content", subkey().getPublicKey())).isTrue();
+	}
+
+	@Test
+	void addSignaturesWhenPrimaryKeyHasBeenStrippedSignsWithSubkey() throws Exception {
+		DeployableArtifact jar = artifact("example-1.0.0.jar", "jar content");
+		PGPSecretKeyRing keyRing = PGPSecretKeyRing.insertSecretKey(keyRingWithSubkey,
+				stripped(keyRingWithSubkey.getSecretKey()));
+		List<DeployableArtifact> artifacts = new ArtifactSigner(armor(keyRing.getEncoded()), "secret")
+			.addSignatures(List.of(jar));
+		assertThat(verify(artifacts.get(1), "jar content", subkey().getPublicKey())).isTrue();
+	}
+
+	@Test
+	void createWhenPrivateKeyHasBeenStrippedThrowsException() throws Exception {
+		assertThatIllegalStateException()
+			.isThrownBy(() -> new ArtifactSigner(armor(stripped(secretKey).getEncoded()), null))
+			.withMessage("Signing key contains no key that can be used for signing");
+	}
+
+	private PGPSecretKey subkey() {
+		Iterator<PGPSecretKey> keys = keyRingWithSubkey.getSecretKeys();
+		keys.next();
+		return keys.next();
+	}
+
+	private PGPSecretKey stripped(PGPSecretKey key) {
+		SecretKeyPacket packet = new SecretKeyPacket(key.getPublicKey().getPublicKeyPacket(),
+				SymmetricKeyAlgorithmTags.NULL, SecretKeyPacket.USAGE_CHECKSUM,
+				S2K.gnuDummyS2K(S2K.GNUDummyParams.noPrivateKey()), null, null);
+		return new PGPSecretKey(packet, key.getPublicKey());
+	}
+
+	private DeployableArtifact artifact(String name, String content) throws IOException {
+		Path path = Files.writeString(this.temp.resolve(name), content);
+		return new DeployableArtifact(new PathResource(path), name, content.length());
+	}
+
+	private boolean verify(DeployableArtifact signatureArtifact, String content) throws Exception {
+		return verify(signatureArtifact, content, secretKey.getPublicKey());
+	}
+
+	private boolean verify(DeployableArtifact signatureArtifact, String content, PGPPublicKey publicKey)
+			throws Exception {
+		try (InputStream input = PGPUtil.getDecoderStream(signatureArtifact.getResource().getInputStream())) {
+			PGPSignatureList signatures = (PGPSignatureList) new PGPObjectFactory(input,
+					new JcaKeyFingerprintCalculator())
+				.nextObject();
+			PGPSignature signature = signatures.get(0);
+			signature.init(new JcaPGPContentVerifierBuilderProvider().setProvider(provider), publicKey);
+			signature.update(content.getBytes(StandardCharsets.UTF_8));
+			return signature.verify();
+		}
+	}
+
+}
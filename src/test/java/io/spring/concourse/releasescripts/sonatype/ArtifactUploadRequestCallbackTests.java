@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.PathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ArtifactUploadRequestCallback}.
+ */
+class ArtifactUploadRequestCallbackTests {
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void doWithRequestStreamsArtifactWithContentLength() throws IOException {
+		byte[] content = new byte[300 * 1024];
+		new Random().nextBytes(content);
+		Path jar = Files.write(this.temp.resolve("example-1.0.0.jar"), content);
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.PUT, "/example-1.0.0.jar");
+		new ArtifactUploadRequestCallback(
+				new DeployableArtifact(new PathResource(jar), "example-1.0.0.jar", content.length))
+			.doWithRequest(request);
+		assertThat(request.getHeaders().getContentLength()).isEqualTo(content.length);
+		assertThat(request.getHeaders().getContentType())
+			.isEqualTo(MediaType.parseMediaType("application/java-archive"));
+		assertThat(request.getBodyAsBytes()).isEqualTo(content);
+	}
+
+	@Test
+	void doWithRequestWithBandwidthLimiterStreamsArtifactAtLimitedRate() throws IOException {
+		byte[] content = new byte[200 * 1024];
+		new Random().nextBytes(content);
+		Path jar = Files.write(this.temp.resolve("example-1.0.0.jar"), content);
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.PUT, "/example-1.0.0.jar");
+		BandwidthLimiter limiter = new BandwidthLimiter(DataSize.ofKilobytes(1024));
+		long start = System.nanoTime();
+		new ArtifactUploadRequestCallback(
+				new DeployableArtifact(new PathResource(jar), "example-1.0.0.jar", content.length), limiter)
+			.doWithRequest(request);
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+		assertThat(limiter.getWaited()).isPositive();
+		assertThat(request.getBodyAsBytes()).isEqualTo(content);
+	}
+
+	@Test
+	void doWithRequestWhenTypeIsUnknownUsesOctetStream() throws IOException {
+		Path checksum = Files.writeString(this.temp.resolve("example-1.0.0.jar.sha1"), "abc");
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.PUT, "/example-1.0.0.jar.sha1");
+		new ArtifactUploadRequestCallback(
+				new DeployableArtifact(new PathResource(checksum), "example-1.0.0.jar.sha1", 3))
+			.doWithRequest(request);
+		assertThat(request.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+		assertThat(request.getBodyAsString()).isEqualTo("abc");
+	}
+
+	@Test
+	void doWithRequestWhenThreadIsInterruptedStopsCopying() throws IOException {
+		Path jar = Files.write(this.temp.resolve("example-1.0.0.jar"), new byte[1024]);
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.PUT, "/example-1.0.0.jar");
+		Thread.currentThread().interrupt();
+		try {
+			assertThatExceptionOfType(InterruptedIOException.class).isThrownBy(() -> new ArtifactUploadRequestCallback(
+					new DeployableArtifact(new PathResource(jar), "example-1.0.0.jar", 1024))
+				.doWithRequest(request));
+			assertThat(request.getBodyAsBytes()).isEmpty();
+		}
+		finally {
+			Thread.interrupted();
+		}
+	}
+
+}
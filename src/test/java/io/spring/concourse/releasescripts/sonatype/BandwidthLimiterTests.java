@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BandwidthLimiter}.
+ */
+class BandwidthLimiterTests {
+
+	private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+	@Test
+	void whenBandwidthIsNotPositiveThrowsException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BandwidthLimiter(DataSize.ofBytes(0)))
+			.withMessage("Bandwidth must be positive");
+	}
+
+	@Test
+	void sliceSizeIsBytesTransferredInSliceDurationWithinBounds() {
+		assertThat(new BandwidthLimiter(DataSize.ofMegabytes(1)).getSliceSize()).isEqualTo(20971);
+		assertThat(new BandwidthLimiter(DataSize.ofKilobytes(10)).getSliceSize()).isEqualTo(1024);
+		assertThat(new BandwidthLimiter(DataSize.ofGigabytes(1)).getSliceSize()).isEqualTo(64 * 1024);
+	}
+
+	@Test
+	void reservePacesSuccessiveReservationsAtTheLimit() {
+		BandwidthLimiter limiter = new BandwidthLimiter(DataSize.ofBytes(1000));
+		long now = System.nanoTime();
+		assertThat(limiter.reserve(100, now)).isZero();
+		assertThat(limiter.reserve(100, now)).isEqualTo(100 * MILLIS);
+		assertThat(limiter.reserve(500, now)).isEqualTo(200 * MILLIS);
+		assertThat(limiter.reserve(100, now + 300 * MILLIS)).isEqualTo(400 * MILLIS);
+	}
+
+	@Test
+	void reserveAfterIdlePeriodDoesNotAllowBurst() {
+		BandwidthLimiter limiter = new BandwidthLimiter(DataSize.ofBytes(1000));
+		long now = System.nanoTime() + 10_000 * MILLIS;
+		assertThat(limiter.reserve(100, now)).isZero();
+		assertThat(limiter.reserve(100, now)).isEqualTo(100 * MILLIS);
+	}
+
+}
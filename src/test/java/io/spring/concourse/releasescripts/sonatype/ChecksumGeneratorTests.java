@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.PathResource;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ChecksumGenerator}.
+ */
+class ChecksumGeneratorTests {
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void addChecksumsWhenNoAlgorithmsReturnsArtifacts() throws IOException {
+		List<DeployableArtifact> artifacts = List.of(artifact("example-1.0.0.jar", "abc"));
+		assertThat(new ChecksumGenerator(Collections.emptyList()).addChecksums(artifacts))
+			.containsExactlyElementsOf(artifacts);
+	}
+
+	@Test
+	void addChecksumsGeneratesChecksumOfEachAlgorithm() throws IOException {
+		DeployableArtifact jar = artifact("example-1.0.0.jar", "abc");
+		List<DeployableArtifact> artifacts = new ChecksumGenerator(EnumSet.allOf(ChecksumAlgorithm.class))
+			.addChecksums(List.of(jar));
+		assertThat(artifacts).first().isSameAs(jar);
+		Map<String, String> checksums = contentByPath(artifacts.subList(1, artifacts.size()));
+		assertThat(checksums).containsOnly(Map.entry("example-1.0.0.jar.md5", "900150983cd24fb0d6963f7d28e17f72"),
+				Map.entry("example-1.0.0.jar.sha1", "a9993e364706816aba3e25717850c26c9cd0d89d"),
+				Map.entry("example-1.0.0.jar.sha256",
+						"ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"),
+				Map.entry("example-1.0.0.jar.sha512",
+						"ddaf35a193617abacc417349ae20413112e6fa4e89a97ea20a9eeee64b55d39a2192992a274fc1a836ba3c23a3feebbd"
+								+ "454d4423643ce80e2a9ac94fa54ca49f"));
+		assertThat(artifacts.get(1).getSize()).isEqualTo(32);
+	}
+
+	@Test
+	void addChecksumsGeneratesChecksumsThatAreMissing() throws IOException {
+		DeployableArtifact jar = artifact("example-1.0.0.jar", "abc");
+		DeployableArtifact sha1 = artifact("example-1.0.0.jar.sha1", "a9993e364706816aba3e25717850c26c9cd0d89d");
+		DeployableArtifact signature = artifact("example-1.0.0.jar.asc", "signature");
+		List<DeployableArtifact> artifacts = new ChecksumGenerator(
+				List.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA1))
+			.addChecksums(List.of(jar, sha1, signature));
+		assertThat(artifacts).extracting(DeployableArtifact::getPath)
+			.containsExactly("example-1.0.0.jar", "example-1.0.0.jar.sha1", "example-1.0.0.jar.asc",
+					"example-1.0.0.jar.md5");
+	}
+
+	@Test
+	void addChecksumsOfLargeArtifactReadsAllContent() throws IOException {
+		byte[] content = new byte[3 * 1024 * 1024 + 17];
+		Path path = Files.write(this.temp.resolve("large.jar"), content);
+		DeployableArtifact jar = new DeployableArtifact(new PathResource(path), "large.jar", content.length);
+		List<DeployableArtifact> artifacts = new ChecksumGenerator(List.of(ChecksumAlgorithm.SHA1))
+			.addChecksums(List.of(jar));
+		assertThat(contentByPath(artifacts.subList(1, 2))).containsEntry("large.jar.sha1", UploadJournal.checksum(jar));
+	}
+
+	private DeployableArtifact artifact(String name, String content) throws IOException {
+		Path path = Files.writeString(this.temp.resolve(name), content);
+		return new DeployableArtifact(new PathResource(path), name, content.length());
+	}
+
+	private Map<String, String> contentByPath(List<DeployableArtifact> artifacts) {
+		return artifacts.stream().collect(Collectors.toMap(DeployableArtifact::getPath, this::content));
+	}
+
+	private String content(DeployableArtifact artifact) {
+		try {
+			return StreamUtils.copyToString(artifact.getResource().getInputStream(), StandardCharsets.US_ASCII);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.concourse.releasescripts.support.Backoff;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link PublishedArtifactProbe}.
+ */
+class PublishedArtifactProbeTests {
+
+	private final RestTemplate restTemplate = new RestTemplate();
+
+	private final MockRestServiceServer server = MockRestServiceServer.bindTo(this.restTemplate)
+		.ignoreExpectOrder(true)
+		.build();
+
+	private final PublishedArtifactProbe probe = new PublishedArtifactProbe(this.restTemplate,
+			"https://nexus.example.org/content/", new RetryPolicy("https://nexus.example.org", 1,
+					new Backoff(Duration.ZERO, Duration.ZERO), new SimpleMeterRegistry()),
+			4);
+
+	@Test
+	void unpublishedSkipsArtifactsWithMatchingChecksumAndTheirSignatures() {
+		DeployableArtifact publishedJar = artifact("a/1.0/a-1.0.jar", "a");
+		DeployableArtifact publishedJarSignature = artifact("a/1.0/a-1.0.jar.asc", "new signature");
+		DeployableArtifact modifiedJar = artifact("b/1.0/b-1.0.jar", "b");
+		DeployableArtifact modifiedJarSignature = artifact("b/1.0/b-1.0.jar.asc", "new signature");
+		DeployableArtifact newPom = artifact("c/1.0/c-1.0.pom", "<project/>");
+		HttpHeaders etag = new HttpHeaders();
+		etag.setETag("\"{SHA1{" + UploadJournal.checksum(publishedJar) + "}}\"");
+		expectHead("a/1.0/a-1.0.jar", etag);
+		expectHead("a/1.0/a-1.0.jar.asc", new HttpHeaders());
+		HttpHeaders checksum = new HttpHeaders();
+		checksum.set("X-Checksum-Sha1", UploadJournal.checksum(publishedJar));
+		expectHead("b/1.0/b-1.0.jar", checksum);
+		expectHead("b/1.0/b-1.0.jar.asc", new HttpHeaders());
+		this.server.expect(requestTo("https://nexus.example.org/content/c/1.0/c-1.0.pom"))
+			.andExpect(method(HttpMethod.HEAD))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		List<DeployableArtifact> unpublished = this.probe
+			.unpublished(List.of(publishedJar, publishedJarSignature, modifiedJar, modifiedJarSignature, newPom));
+		assertThat(unpublished).containsExactly(modifiedJar, modifiedJarSignature, newPom);
+		this.server.verify();
+	}
+
+	@Test
+	void unpublishedWhenProbeFailsTreatsArtifactAsUnpublished() {
+		DeployableArtifact forbiddenJar = artifact("a/1.0/a-1.0.jar", "a");
+		DeployableArtifact unauthorizedPom = artifact("a/1.0/a-1.0.pom", "<project/>");
+		this.server.expect(requestTo("https://nexus.example.org/content/a/1.0/a-1.0.jar"))
+			.andExpect(method(HttpMethod.HEAD))
+			.andRespond(withStatus(HttpStatus.FORBIDDEN));
+		this.server.expect(requestTo("https://nexus.example.org/content/a/1.0/a-1.0.pom"))
+			.andExpect(method(HttpMethod.HEAD))
+			.andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+		List<DeployableArtifact> unpublished = this.probe.unpublished(List.of(forbiddenJar, unauthorizedPom));
+		assertThat(unpublished).containsExactly(forbiddenJar, unauthorizedPom);
+		this.server.verify();
+	}
+
+	private void expectHead(String path, HttpHeaders headers) {
+		this.server.expect(requestTo("https://nexus.example.org/content/" + path))
+			.andExpect(method(HttpMethod.HEAD))
+			.andRespond(withSuccess().headers(headers));
+	}
+
+	private DeployableArtifact artifact(String path, String content) {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		return new DeployableArtifact(new ByteArrayResource(bytes), path, bytes.length);
+	}
+
+}
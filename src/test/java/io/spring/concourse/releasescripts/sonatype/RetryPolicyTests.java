@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.concourse.releasescripts.support.Backoff;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link RetryPolicy}.
+ */
+class RetryPolicyTests {
+
+	private final RetryPolicy policy = new RetryPolicy("https://nexus.example.org", 3,
+			new Backoff(Duration.ZERO, Duration.ZERO), new SimpleMeterRegistry());
+
+	@Test
+	void serverErrorsRateLimitingAndIoFailuresAreRetryable() {
+		assertThat(
+				this.policy.isRetryable(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null)))
+			.isTrue();
+		assertThat(this.policy
+			.isRetryable(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))).isTrue();
+		assertThat(this.policy.isRetryable(new ResourceAccessException("reset", new IOException()))).isTrue();
+	}
+
+	@Test
+	void otherClientErrorsAreNotRetryable() {
+		assertThat(
+				this.policy.isRetryable(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "", null, null, null)))
+			.isFalse();
+		assertThat(this.policy.isRetryable(new IllegalStateException())).isFalse();
+	}
+
+	@Test
+	void executeRetriesUntilSuccess() {
+		AtomicInteger attempts = new AtomicInteger();
+		String result = this.policy.execute("start", () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "", null, null, null);
+			}
+			return "done";
+		});
+		assertThat(result).isEqualTo("done");
+		assertThat(attempts).hasValue(3);
+		assertThat(this.policy.getRetries()).containsEntry("start", 2L);
+	}
+
+	@Test
+	void executeGivesUpWhenAttemptsAreExhausted() {
+		AtomicInteger attempts = new AtomicInteger();
+		assertThatExceptionOfType(HttpServerErrorException.class).isThrownBy(() -> this.policy.execute("finish", () -> {
+			attempts.incrementAndGet();
+			throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null);
+		}));
+		assertThat(attempts).hasValue(3);
+		assertThat(this.policy.getRetries()).containsEntry("finish", 2L);
+	}
+
+	@Test
+	void executeDoesNotRetryNonRetryableFailure() {
+		AtomicInteger attempts = new AtomicInteger();
+		assertThatExceptionOfType(HttpClientErrorException.class).isThrownBy(() -> this.policy.execute("start", () -> {
+			attempts.incrementAndGet();
+			throw HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "", null, null, null);
+		}));
+		assertThat(attempts).hasValue(1);
+		assertThat(this.policy.getRetries()).isEmpty();
+	}
+
+	@Test
+	void connectionFailuresAndRateLimitingAreUnprocessed() {
+		assertThat(this.policy.isUnprocessed(new ResourceAccessException("refused", new ConnectException()))).isTrue();
+		assertThat(this.policy
+			.isUnprocessed(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null)))
+			.isTrue();
+	}
+
+	@Test
+	void serverErrorsAndFailuresAfterConnectingMayHaveBeenProcessed() {
+		assertThat(this.policy
+			.isUnprocessed(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "", null, null, null)))
+			.isFalse();
+		assertThat(this.policy.isUnprocessed(new ResourceAccessException("timeout", new SocketTimeoutException())))
+			.isFalse();
+		assertThat(this.policy.isUnprocessed(new ResourceAccessException("reset", new IOException()))).isFalse();
+	}
+
+	@Test
+	void executeNonIdempotentRetriesUnprocessedRequests() {
+		AtomicInteger attempts = new AtomicInteger();
+		String result = this.policy.executeNonIdempotent("start", () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new ResourceAccessException("refused", new ConnectException());
+			}
+			return "done";
+		});
+		assertThat(result).isEqualTo("done");
+		assertThat(attempts).hasValue(3);
+		assertThat(this.policy.getRetries()).containsEntry("start", 2L);
+	}
+
+	@Test
+	void executeNonIdempotentDoesNotRetryRequestsThatMayHaveBeenProcessed() {
+		AtomicInteger attempts = new AtomicInteger();
+		assertThatExceptionOfType(HttpServerErrorException.class)
+			.isThrownBy(() -> this.policy.executeNonIdempotent("start", () -> {
+				attempts.incrementAndGet();
+				throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null);
+			}));
+		assertThat(attempts).hasValue(1);
+		assertThat(this.policy.getRetries()).isEmpty();
+	}
+
+}
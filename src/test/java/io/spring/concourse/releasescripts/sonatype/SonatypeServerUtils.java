@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import io.spring.concourse.releasescripts.ReleaseInfo;
@@ -46,10 +47,16 @@ public class SonatypeServerUtils {
 
 	public static Set<RequestMatcher> generateUploadRequests(Path artifactsRoot, String stagingRepositoryId)
 			throws IOException {
+		return generateUploadRequests(artifactsRoot, stagingRepositoryId, (artifact) -> true);
+	}
+
+	public static Set<RequestMatcher> generateUploadRequests(Path artifactsRoot, String stagingRepositoryId,
+			Predicate<Path> filter) throws IOException {
 		return Files.walk(artifactsRoot)
 			.filter(Files::isRegularFile)
 			.map(artifactsRoot::relativize)
 			.filter((artifact) -> !"build-info.json".equals(artifact.toString()))
+			.filter(filter)
 			.map((artifact) -> requestTo(
 					"/service/local/staging/deployByRepositoryId/" + stagingRepositoryId + "/" + artifact))
 			.collect(Collectors.toSet());
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.UnorderedRequestExpectationManager;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link SonatypeService} staging artifacts in multiple repositories.
+ */
+class SonatypeServicePartitionedStagingTests {
+
+	private static final Pattern UPLOAD = Pattern.compile(
+			"/service/local/staging/deployByRepositoryId/(example-[0-9]+)/org/springframework/example/(module-[a-z]+)/.*");
+
+	private final MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer(
+			UnorderedRequestExpectationManager::new);
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private SonatypeService service;
+
+	@BeforeEach
+	void setUp() {
+		SonatypeProperties properties = new SonatypeProperties();
+		properties.setUrl("https://nexus.example.org");
+		properties.setUsername("spring");
+		properties.setPassword("secret");
+		properties.setStagingProfile("org.example");
+		properties.setStagingPartitioning(StagingPartitioning.SIZE);
+		properties.setStagingPartitionSize(DataSize.ofBytes(1));
+		this.service = new TestServices(this.meterRegistry).sonatypeService(new RestTemplateBuilder(this.customizer),
+				properties);
+	}
+
+	@Test
+	void publishStagesEachPartitionInSeparateRepositoryAndReleasesThemTogether() {
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(server);
+		for (int i = 1; i <= 3; i++) {
+			server.expect(requestTo("/service/local/staging/profiles/" + stagingProfileId + "/start"))
+				.andExpect(method(HttpMethod.POST))
+				.andRespond(withStatus(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+					.body("{\"data\":{\"stagedRepositoryId\":\"example-" + i + "\"}}"));
+		}
+		Map<String, Set<String>> modulesByRepository = new ConcurrentHashMap<>();
+		server.expect(ExpectedCount.times(150), requestTo(startsWith("/service/local/staging/deployByRepositoryId/")))
+			.andExpect(method(HttpMethod.PUT))
+			.andExpect((request) -> {
+				Matcher matcher = UPLOAD.matcher(request.getURI().getPath());
+				assertThat(matcher.matches()).isTrue();
+				modulesByRepository.computeIfAbsent(matcher.group(1), (id) -> ConcurrentHashMap.newKeySet())
+					.add(matcher.group(2));
+			})
+			.andRespond(withSuccess());
+		server
+			.expect(ExpectedCount.times(3),
+					requestTo("/service/local/staging/profiles/" + stagingProfileId + "/finish"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withStatus(HttpStatus.CREATED));
+		for (int i = 1; i <= 3; i++) {
+			server.expect(requestTo("/service/local/staging/repository/example-" + i))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON)
+					.body("{\"type\":\"closed\", \"transitioning\":false}"));
+		}
+		server.expect(requestTo("/service/local/staging/bulk/promote"))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect(
+					jsonPath("$.data.stagedRepositoryIds", containsInAnyOrder("example-1", "example-2", "example-3")))
+			.andRespond(withSuccess());
+		Path artifactsRoot = Path.of("src/test/resources/io/spring/concourse/releasescripts/sonatype/artifactory-repo");
+		this.service.publish(SonatypeServerUtils.getReleaseInfo(), artifactsRoot);
+		server.verify();
+		assertThat(modulesByRepository).hasSize(3)
+			.allSatisfy((repositoryId, modules) -> assertThat(modules).hasSize(1));
+		assertThat(phaseCount("collect")).isOne();
+		assertThat(phaseCount("create")).isEqualTo(3);
+		assertThat(phaseCount("deploy")).isEqualTo(3);
+		assertThat(phaseCount("close")).isEqualTo(3);
+		assertThat(phaseCount("release")).isOne();
+		assertThat(this.meterRegistry.get("releasescripts.upload.bytes").counter().count()).isPositive();
+		assertThat(this.meterRegistry.get("releasescripts.upload.throughput").summary().count()).isEqualTo(150);
+		assertThat(this.meterRegistry.get("releasescripts.uploads.active").gauge().value()).isZero();
+		assertThat(this.meterRegistry.get("releasescripts.upload").tag("service", "sonatype").timer().count())
+			.isEqualTo(150);
+	}
+
+	@Test
+	void publishWhenCloseOfPartitionFailsCancelsOtherPartitionsAndDropsTheirRepositories() {
+		MockRestServiceServer server = this.customizer.getServer();
+		server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(server);
+		AtomicInteger created = new AtomicInteger();
+		for (int i = 1; i <= 3; i++) {
+			server
+				.expect((i == 1) ? ExpectedCount.once() : ExpectedCount.between(0, 1),
+						requestTo("/service/local/staging/profiles/" + stagingProfileId + "/start"))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect((request) -> created.incrementAndGet())
+				.andRespond(withStatus(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+					.body("{\"data\":{\"stagedRepositoryId\":\"example-" + i + "\"}}"));
+		}
+		server
+			.expect(ExpectedCount.between(0, 150),
+					requestTo(startsWith("/service/local/staging/deployByRepositoryId/")))
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withSuccess());
+		server
+			.expect(ExpectedCount.between(1, 3),
+					requestTo("/service/local/staging/profiles/" + stagingProfileId + "/finish"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withStatus(HttpStatus.CREATED));
+		server.expect(requestTo("/service/local/staging/repository/example-1"))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON)
+				.body("{\"type\":\"open\", \"transitioning\":false}"));
+		server.expect(requestTo("/service/local/staging/repository/example-1/activity"))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON).body("[]"));
+		for (int i = 2; i <= 3; i++) {
+			server.expect(ExpectedCount.between(0, 1), requestTo("/service/local/staging/repository/example-" + i))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON)
+					.body("{\"type\":\"closed\", \"transitioning\":false}"));
+		}
+		AtomicReference<List<String>> dropped = new AtomicReference<>();
+		server.expect(requestTo("/service/local/staging/bulk/drop"))
+			.andExpect(method(HttpMethod.POST))
+			.andExpect((request) -> dropped.set(JsonPath
+				.read(((MockClientHttpRequest) request).getBodyAsString(), "$.data.stagedRepositoryIds")))
+			.andRespond(withSuccess());
+		Path artifactsRoot = Path.of("src/test/resources/io/spring/concourse/releasescripts/sonatype/artifactory-repo");
+		assertThatExceptionOfType(RuntimeException.class)
+			.isThrownBy(() -> this.service.publish(SonatypeServerUtils.getReleaseInfo(), artifactsRoot))
+			.withMessage("Close failed");
+		server.verify();
+		assertThat(dropped.get()).contains("example-1")
+			.containsExactlyInAnyOrderElementsOf(
+					IntStream.rangeClosed(1, created.get()).mapToObj((i) -> "example-" + i).toList());
+		assertThat(this.meterRegistry.find("releasescripts.phase").tags("phase", "release").timers()).isEmpty();
+	}
+
+	private long phaseCount(String phase) {
+		return this.meterRegistry.get("releasescripts.phase")
+			.tags("service", "sonatype", "phase", phase, "outcome", "success")
+			.timer()
+			.count();
+	}
+
+}
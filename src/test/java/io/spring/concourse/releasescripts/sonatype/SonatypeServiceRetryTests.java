@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link SonatypeService} retrying failed requests.
+ */
+@RestClientTest(components = SonatypeService.class,
+		properties = { "sonatype.url=https://nexus.example.org", "sonatype.username=spring",
+				"sonatype.stagingProfile=org.example", "sonatype.password=secret", "sonatype.retry.initial-backoff=1ms",
+				"sonatype.retry.max-backoff=5ms" })
+@EnableConfigurationProperties(SonatypeProperties.class)
+class SonatypeServiceRetryTests {
+
+	private static final String ARTIFACT = "org/example/test/test-artifact/1.1.0.RELEASE/test-artifact-1.1.0.RELEASE.pom";
+
+	@TempDir
+	Path artifactsRoot;
+
+	@Autowired
+	private SonatypeService service;
+
+	@Autowired
+	private MockRestServiceServer server;
+
+	@BeforeEach
+	void createArtifact() throws IOException {
+		Path artifact = this.artifactsRoot.resolve(ARTIFACT);
+		Files.createDirectories(artifact.getParent());
+		Files.writeString(artifact, "<project/>");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.reset();
+	}
+
+	@Test
+	void publishRetriesTransientFailures() {
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		this.server.expect(requestTo("/service/local/staging/profiles"))
+			.andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(this.server);
+		String stagingRepositoryId = SonatypeServerUtils.setupStagingRepositoryCreation(this.server, stagingProfileId);
+		this.server
+			.expect(requestTo("/service/local/staging/deployByRepositoryId/" + stagingRepositoryId + "/" + ARTIFACT))
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+		this.server
+			.expect(requestTo("/service/local/staging/deployByRepositoryId/" + stagingRepositoryId + "/" + ARTIFACT))
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+		this.server
+			.expect(requestTo("/service/local/staging/deployByRepositoryId/" + stagingRepositoryId + "/" + ARTIFACT))
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withSuccess());
+		this.server.expect(requestTo("/service/local/staging/profiles/" + stagingProfileId + "/finish"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withStatus(HttpStatus.CREATED));
+		this.server.expect(requestTo("/service/local/staging/repository/" + stagingRepositoryId))
+			.andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+		this.server.expect(requestTo("/service/local/staging/repository/" + stagingRepositoryId))
+			.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON)
+				.body("{\"type\":\"closed\", \"transitioning\":false}"));
+		this.server.expect(requestTo("/service/local/staging/bulk/promote"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withSuccess());
+		this.service.publish(SonatypeServerUtils.getReleaseInfo(), this.artifactsRoot);
+		this.server.verify();
+	}
+
+	@Test
+	void publishDoesNotRetryClientErrors() {
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(this.server);
+		String stagingRepositoryId = SonatypeServerUtils.setupStagingRepositoryCreation(this.server, stagingProfileId);
+		this.server
+			.expect(requestTo("/service/local/staging/deployByRepositoryId/" + stagingRepositoryId + "/" + ARTIFACT))
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withStatus(HttpStatus.BAD_REQUEST));
+		assertThatExceptionOfType(RuntimeException.class)
+			.isThrownBy(() -> this.service.publish(SonatypeServerUtils.getReleaseInfo(), this.artifactsRoot))
+			.withMessage("Deploy failed");
+		this.server.verify();
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link SonatypeService} with a {@link StagingProfileCache}.
+ */
+@RestClientTest(components = SonatypeService.class,
+		properties = { "sonatype.url=https://nexus.example.org", "sonatype.username=spring",
+				"sonatype.stagingProfile=org.example", "sonatype.password=secret" })
+@EnableConfigurationProperties(SonatypeProperties.class)
+class SonatypeServiceStagingProfileCacheTests {
+
+	private static final String ARTIFACT = "org/example/test/test-artifact/1.1.0.RELEASE/test-artifact-1.1.0.RELEASE.pom";
+
+	@TempDir
+	static Path cacheDirectory;
+
+	@TempDir
+	Path artifactsRoot;
+
+	@Autowired
+	private SonatypeService service;
+
+	@Autowired
+	private MockRestServiceServer server;
+
+	@DynamicPropertySource
+	static void cacheProperties(DynamicPropertyRegistry registry) {
+		registry.add("sonatype.staging-profile-cache", () -> cacheDirectory.resolve("staging-profiles"));
+	}
+
+	@BeforeEach
+	void createArtifact() throws IOException {
+		Path artifact = this.artifactsRoot.resolve(ARTIFACT);
+		Files.createDirectories(artifact.getParent());
+		Files.writeString(artifact, "<project/>");
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.server.reset();
+		Files.deleteIfExists(cacheFile());
+	}
+
+	@Test
+	void publishFetchesAndCachesStagingProfileId() {
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(this.server);
+		expectStagingAndRelease(stagingProfileId);
+		this.service.publish(SonatypeServerUtils.getReleaseInfo(), this.artifactsRoot);
+		this.server.verify();
+		assertThat(cache().get("org.example")).isEqualTo(stagingProfileId);
+	}
+
+	@Test
+	void publishUsesCachedStagingProfileId() {
+		cache().put("org.example", "cached-1234");
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		expectStagingAndRelease("cached-1234");
+		this.service.publish(SonatypeServerUtils.getReleaseInfo(), this.artifactsRoot);
+		this.server.verify();
+	}
+
+	@Test
+	void publishWhenCachedStagingProfileIdIsNotFoundFetchesItAgain() {
+		cache().put("org.example", "stale-1234");
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		this.server.expect(requestTo("/service/local/staging/profiles/stale-1234/start"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(this.server);
+		expectStagingAndRelease(stagingProfileId);
+		this.service.publish(SonatypeServerUtils.getReleaseInfo(), this.artifactsRoot);
+		this.server.verify();
+		assertThat(cache().get("org.example")).isEqualTo(stagingProfileId);
+	}
+
+	private void expectStagingAndRelease(String stagingProfileId) {
+		String stagingRepositoryId = SonatypeServerUtils.setupStagingRepositoryCreation(this.server, stagingProfileId);
+		this.server
+			.expect(requestTo("/service/local/staging/deployByRepositoryId/" + stagingRepositoryId + "/" + ARTIFACT))
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withSuccess());
+		this.server.expect(requestTo("/service/local/staging/profiles/" + stagingProfileId + "/finish"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withStatus(HttpStatus.CREATED));
+		this.server.expect(requestTo("/service/local/staging/repository/" + stagingRepositoryId))
+			.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON)
+				.body("{\"type\":\"closed\", \"transitioning\":false}"));
+		this.server.expect(requestTo("/service/local/staging/bulk/promote"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withSuccess());
+	}
+
+	private StagingProfileCache cache() {
+		return new StagingProfileCache(cacheFile(), Duration.ofDays(1));
+	}
+
+	private Path cacheFile() {
+		return cacheDirectory.resolve("staging-profiles");
+	}
+
+}
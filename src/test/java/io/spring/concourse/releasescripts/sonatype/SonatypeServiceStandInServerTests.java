@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.standin.StandInServer;
+import io.spring.concourse.releasescripts.standin.StandInServer.StagingRepository;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SonatypeService} publishing over HTTP to a {@link StandInServer}.
+ */
+class SonatypeServiceStandInServerTests {
+
+	private static final Path ARTIFACTS_ROOT = new File(
+			"src/test/resources/io/spring/concourse/releasescripts/sonatype/artifactory-repo")
+		.toPath();
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final StandInServer server = new StandInServer().withCloseDuration(Duration.ofMillis(50));
+
+	private final SonatypeProperties properties = new SonatypeProperties();
+
+	@BeforeEach
+	void setUp() {
+		this.properties.setUsername("spring");
+		this.properties.setPassword("secret");
+		this.properties.setStagingProfile("org.example");
+		this.properties.setInitialPollingInterval(Duration.ofMillis(10));
+		this.properties.setPollingInterval(Duration.ofMillis(10));
+		this.properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+		this.properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+		this.properties.getRetry().setMaxAttempts(10);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.server.close();
+	}
+
+	@Test
+	void publishDeploysClosesAndReleasesAllArtifacts() throws IOException {
+		this.server.start();
+		createService().publish(releaseInfo(), ARTIFACTS_ROOT);
+		assertThat(this.server.getStagingRepositories()).singleElement().satisfies((repository) -> {
+			assertThat(repository.getState()).isEqualTo("released");
+			assertThat(repository.getArtifacts()).hasSize(150).doesNotContainKey("build-info.json");
+		});
+		assertThat(this.server.getPublishedArtifacts()).hasSize(150);
+	}
+
+	@Test
+	void publishWhenAlreadyPublishedDoesNotCreateStagingRepository() throws IOException {
+		this.server.start();
+		createService().publish(releaseInfo(), ARTIFACTS_ROOT);
+		createService().publish(releaseInfo(), ARTIFACTS_ROOT);
+		assertThat(this.server.getStagingRepositories()).hasSize(1);
+	}
+
+	@Test
+	void publishWhenStagingRequestsFailIntermittentlyRetriesThem() throws IOException {
+		this.server.withErrors(0.1, 429).start();
+		createService().publish(releaseInfo(), ARTIFACTS_ROOT);
+		assertThat(this.server.getStagingRepositories()).extracting(StagingRepository::getState)
+			.containsExactly("released");
+		assertThat(this.meterRegistry.get("releasescripts.retries").counters())
+			.anySatisfy((retries) -> assertThat(retries.count()).isPositive());
+	}
+
+	private ReleaseInfo releaseInfo() {
+		ReleaseInfo releaseInfo = SonatypeServerUtils.getReleaseInfo();
+		releaseInfo.setMarkerArtifact(
+				ReleaseInfo.MarkerArtifact.fromCoordinates("org.springframework.example:module-one:1.0.0"));
+		return releaseInfo;
+	}
+
+	private SonatypeService createService() {
+		this.properties.setUrl(this.server.getUrl());
+		return new TestServices(this.meterRegistry).sonatypeService(
+				this.server.restTemplateBuilder(this.properties.getMaxUploadThreads() + 2), this.properties);
+	}
+
+}
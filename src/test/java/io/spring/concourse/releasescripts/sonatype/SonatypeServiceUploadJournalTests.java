@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.core.io.PathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.RequestMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link SonatypeService} when resuming a deploy using an upload journal.
+ */
+@RestClientTest(components = SonatypeService.class,
+		properties = { "sonatype.url=https://nexus.example.org", "sonatype.username=spring",
+				"sonatype.stagingProfile=org.example", "sonatype.password=secret", "sonatype.auto-release=false" })
+@EnableConfigurationProperties(SonatypeProperties.class)
+class SonatypeServiceUploadJournalTests {
+
+	@TempDir
+	static Path temp;
+
+	@Autowired
+	private SonatypeService service;
+
+	@Autowired
+	private MockRestServiceServer server;
+
+	@DynamicPropertySource
+	static void uploadJournalProperties(DynamicPropertyRegistry registry) {
+		registry.add("sonatype.upload-journal", () -> temp.resolve("upload-journal").toString());
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server.reset();
+	}
+
+	@Test
+	void publishWithJournalOfOpenRepositoryDeploysOnlyMissingOrChangedArtifacts() throws IOException {
+		Path artifactsRoot = new File("src/test/resources/io/spring/concourse/releasescripts/sonatype/artifactory-repo")
+			.toPath();
+		String stagingRepositoryId = "example-1234";
+		List<Path> deployed;
+		try (Stream<Path> files = Files.walk(artifactsRoot.resolve("org/springframework/example/module-one"))) {
+			deployed = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+		List<String> journal = new ArrayList<>();
+		journal.add("build\texample-build-1");
+		journal.add("repository\t" + stagingRepositoryId);
+		for (Path artifact : deployed) {
+			String path = artifactsRoot.relativize(artifact).toString();
+			String checksum = UploadJournal.checksum(new DeployableArtifact(new PathResource(artifact), path, 0));
+			journal.add(checksum + "\t" + path);
+		}
+		journal.set(2, "0000000000000000000000000000000000000000" + journal.get(2).substring(40));
+		Files.write(temp.resolve("upload-journal"), journal);
+
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		this.server.expect(requestTo("/service/local/staging/repository/" + stagingRepositoryId))
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withSuccess().contentType(MediaType.APPLICATION_JSON)
+				.body("{\"type\":\"open\", \"transitioning\":false}"));
+		String stagingProfileId = SonatypeServerUtils.setupStagingProfile(this.server);
+		Set<RequestMatcher> uploads = SonatypeServerUtils.generateUploadRequests(artifactsRoot, stagingRepositoryId,
+				(artifact) -> !artifact.startsWith("org/springframework/example/module-one")
+						|| artifact.equals(artifactsRoot.relativize(deployed.get(0))));
+		AnyOfRequestMatcher uploadRequestsMatcher = new AnyOfRequestMatcher(uploads);
+		assertThat(uploadRequestsMatcher.getCandidates()).hasSize(101);
+		this.server.expect(ExpectedCount.times(101), uploadRequestsMatcher)
+			.andExpect(method(HttpMethod.PUT))
+			.andRespond(withSuccess());
+		SonatypeServerUtils.attemptFinishStagingRepository(this.server, stagingProfileId, stagingRepositoryId, true);
+
+		this.service.publish(SonatypeServerUtils.getReleaseInfo(), artifactsRoot);
+		this.server.verify();
+		assertThat(uploadRequestsMatcher.getCandidates()).hasSize(0);
+		assertThat(temp.resolve("upload-journal")).doesNotExist();
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+/**
+ * Tests for {@link SonatypeService} when validation of staging rules is enabled.
+ */
+@RestClientTest(components = SonatypeService.class,
+		properties = { "sonatype.url=https://nexus.example.org", "sonatype.username=spring",
+				"sonatype.stagingProfile=org.example", "sonatype.password=secret", "sonatype.validate=true" })
+@EnableConfigurationProperties(SonatypeProperties.class)
+class SonatypeServiceValidationTests {
+
+	@Autowired
+	private SonatypeService service;
+
+	@Autowired
+	private MockRestServiceServer server;
+
+	@AfterEach
+	void tearDown() {
+		this.server.reset();
+	}
+
+	@Test
+	void publishWhenArtifactsViolateStagingRulesFailsBeforeCreatingStagingRepository(@TempDir Path artifactsRoot)
+			throws IOException {
+		Path artifact = artifactsRoot.resolve("org/example/module/1.0.0/module-1.0.0.jar");
+		Files.createDirectories(artifact.getParent());
+		Files.writeString(artifact, "jar");
+		this.server.expect(SonatypeServerUtils.requestTestArtifact())
+			.andExpect(method(HttpMethod.GET))
+			.andRespond(withStatus(HttpStatus.NOT_FOUND));
+		SonatypeServerUtils.setupStagingProfile(this.server);
+		assertThatExceptionOfType(RuntimeException.class)
+			.isThrownBy(() -> this.service.publish(SonatypeServerUtils.getReleaseInfo(), artifactsRoot))
+			.withMessage("Validation failed");
+		this.server.verify();
+	}
+
+}
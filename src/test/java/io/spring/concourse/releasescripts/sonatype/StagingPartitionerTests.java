@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StagingPartitioner}.
+ */
+class StagingPartitionerTests {
+
+	private final List<DeployableArtifact> artifacts = List.of(artifact("com/example/one/1.0/one-1.0.jar", 60),
+			artifact("com/example/one/1.0/one-1.0.pom", 10), artifact("com/example/two/1.0/two-1.0.jar", 40),
+			artifact("com/example/two/1.0/two-1.0.pom", 10), artifact("org/example/three/1.0/three-1.0.jar", 30),
+			artifact("org/example/three/1.0/three-1.0.pom", 10));
+
+	@Test
+	void partitionWithNoneReturnsSinglePartition() {
+		assertThat(new StagingPartitioner(StagingPartitioning.NONE, DataSize.ofBytes(1)).partition(this.artifacts))
+			.containsExactly(this.artifacts);
+	}
+
+	@Test
+	void partitionByGroupIdKeepsEachGroupTogether() {
+		List<List<DeployableArtifact>> partitions = new StagingPartitioner(StagingPartitioning.GROUP_ID,
+				DataSize.ofBytes(1))
+			.partition(this.artifacts);
+		assertThat(partitions).hasSize(2);
+		assertThat(partitions.get(0)).containsExactlyElementsOf(this.artifacts.subList(0, 4));
+		assertThat(partitions.get(1)).containsExactlyElementsOf(this.artifacts.subList(4, 6));
+	}
+
+	@Test
+	void partitionByGroupIdKeepsMavenMetadataWithItsGroup() {
+		List<DeployableArtifact> artifacts = List.of(artifact("com/example/maven-metadata.xml", 1),
+				artifact("com/example/one/maven-metadata.xml", 1),
+				artifact("com/example/one/maven-metadata.xml.sha1", 1),
+				artifact("com/example/one/1.0/maven-metadata.xml", 1), artifact("com/example/one/1.0/one-1.0.jar", 60),
+				artifact("org/example/three/maven-metadata.xml", 1),
+				artifact("org/example/three/1.0/three-1.0.jar", 30));
+		List<List<DeployableArtifact>> partitions = new StagingPartitioner(StagingPartitioning.GROUP_ID,
+				DataSize.ofBytes(1))
+			.partition(artifacts);
+		assertThat(partitions).hasSize(2);
+		assertThat(partitions.get(0)).containsExactlyElementsOf(artifacts.subList(0, 5));
+		assertThat(partitions.get(1)).containsExactlyElementsOf(artifacts.subList(5, 7));
+	}
+
+	@Test
+	void partitionBySizePacksModulesWithinBudget() {
+		List<List<DeployableArtifact>> partitions = new StagingPartitioner(StagingPartitioning.SIZE,
+				DataSize.ofBytes(90))
+			.partition(this.artifacts);
+		assertThat(partitions).hasSize(2);
+		assertThat(partitions.get(0)).extracting(DeployableArtifact::getPath)
+			.containsExactly("com/example/one/1.0/one-1.0.jar", "com/example/one/1.0/one-1.0.pom");
+		assertThat(partitions.get(1)).extracting(DeployableArtifact::getPath)
+			.containsExactly("com/example/two/1.0/two-1.0.jar", "com/example/two/1.0/two-1.0.pom",
+					"org/example/three/1.0/three-1.0.jar", "org/example/three/1.0/three-1.0.pom");
+	}
+
+	@Test
+	void partitionBySizeWhenModuleExceedsBudgetStagesItAlone() {
+		List<List<DeployableArtifact>> partitions = new StagingPartitioner(StagingPartitioning.SIZE,
+				DataSize.ofBytes(10))
+			.partition(this.artifacts);
+		assertThat(partitions).hasSize(3).allSatisfy((partition) -> assertThat(partition).hasSize(2));
+	}
+
+	private static DeployableArtifact artifact(String path, int size) {
+		return new DeployableArtifact(new ByteArrayResource(new byte[size]), path, size);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StagingProfileCache}.
+ */
+class StagingProfileCacheTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void getWhenNotCachedReturnsNull() {
+		StagingProfileCache cache = new StagingProfileCache(this.temp.resolve("cache"), Duration.ofDays(1));
+		assertThat(cache.get("org.example")).isNull();
+	}
+
+	@Test
+	void getReturnsIdCachedByAnotherInstance() {
+		Path file = this.temp.resolve("cache");
+		new StagingProfileCache(file, Duration.ofDays(1)).put("org.example", "1234");
+		assertThat(new StagingProfileCache(file, Duration.ofDays(1)).get("org.example")).isEqualTo("1234");
+	}
+
+	@Test
+	void getWhenEntryHasExpiredReturnsNull() {
+		Path file = this.temp.resolve("cache");
+		new StagingProfileCache(file, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC)).put("org.example", "1234");
+		assertThat(new StagingProfileCache(file, Duration.ofHours(1),
+				Clock.fixed(NOW.plus(Duration.ofMinutes(59)), ZoneOffset.UTC))
+			.get("org.example")).isEqualTo("1234");
+		assertThat(new StagingProfileCache(file, Duration.ofHours(1),
+				Clock.fixed(NOW.plus(Duration.ofMinutes(61)), ZoneOffset.UTC))
+			.get("org.example")).isNull();
+	}
+
+	@Test
+	void evictRemovesOnlyMatchingId() {
+		StagingProfileCache cache = new StagingProfileCache(this.temp.resolve("cache"), Duration.ofDays(1));
+		cache.put("org.example", "1234");
+		cache.put("org.other", "5678");
+		assertThat(cache.evict("org.example", "9999")).isFalse();
+		assertThat(cache.get("org.example")).isEqualTo("1234");
+		assertThat(cache.evict("org.example", "1234")).isTrue();
+		assertThat(cache.get("org.example")).isNull();
+		assertThat(cache.get("org.other")).isEqualTo("5678");
+		assertThat(cache.evict("org.example", "1234")).isFalse();
+	}
+
+	@Test
+	void getWhenFileIsMalformedReturnsNull() throws Exception {
+		Path file = this.temp.resolve("cache");
+		Files.writeString(file, "org.example\t1234\tyesterday\n");
+		assertThat(new StagingProfileCache(file, Duration.ofDays(1)).get("org.example")).isNull();
+	}
+
+	@Test
+	void whenFileIsNullCacheIsDisabled() {
+		StagingProfileCache cache = new StagingProfileCache(null, Duration.ofDays(1));
+		cache.put("org.example", "1234");
+		assertThat(cache.get("org.example")).isNull();
+		assertThat(cache.evict("org.example", "1234")).isFalse();
+	}
+
+}
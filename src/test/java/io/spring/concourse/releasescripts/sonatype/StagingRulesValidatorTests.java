@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.io.PathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+/**
+ * Tests for {@link StagingRulesValidator}.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class StagingRulesValidatorTests {
+
+	private static final String POM = """
+			<project>
+				<groupId>org.example</groupId>
+				<artifactId>module</artifactId>
+				<version>1.0.0</version>
+				<name>module</name>
+				<description>Example module</description>
+				<url>https://example.org</url>
+				<licenses><license><name>Apache License, Version 2.0</name></license></licenses>
+				<developers><developer><name>Example</name></developer></developers>
+				<scm><url>https://github.com/example/module</url></scm>
+			</project>
+			""";
+
+	private final StagingRulesValidator validator = new StagingRulesValidator(true);
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void validateWhenArtifactsMeetRulesDoesNotThrow() {
+		Collection<DeployableArtifact> artifacts = new ArtifactCollector(List.of("build-info\\.json")).collectArtifacts(
+				Path.of("src/test/resources/io/spring/concourse/releasescripts/sonatype/artifactory-repo"));
+		assertThatNoException().isThrownBy(() -> this.validator.validate(artifacts));
+	}
+
+	@Test
+	void validateWhenSignatureAndChecksumsAreMissingThrows(CapturedOutput output) throws IOException {
+		List<DeployableArtifact> artifacts = new ArrayList<>(complete("module-1.0.0.pom", POM));
+		artifacts.add(artifact("module-1.0.0.module", "{}"));
+		assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> this.validator.validate(artifacts))
+			.withMessage("Validation failed");
+		assertThat(output).contains("module-1.0.0.module has no .asc file")
+			.contains("module-1.0.0.module has no .md5 file")
+			.contains("module-1.0.0.module has no .sha1 file")
+			.doesNotContain("module-1.0.0.pom has no");
+	}
+
+	@Test
+	void validateWhenChecksumsAreNotRequiredAndAreMissingDoesNotThrow() throws IOException {
+		List<DeployableArtifact> artifacts = new ArrayList<>();
+		artifacts.add(artifact("module-1.0.0.pom", POM));
+		artifacts.add(artifact("module-1.0.0.pom.asc", "signature"));
+		assertThatNoException().isThrownBy(() -> new StagingRulesValidator(false).validate(artifacts));
+	}
+
+	@Test
+	void validateWhenJarHasNoSourcesOrJavadocThrows(CapturedOutput output) throws IOException {
+		List<DeployableArtifact> artifacts = new ArrayList<>(complete("module-1.0.0.pom", POM));
+		artifacts.addAll(complete("module-1.0.0.jar", "jar"));
+		artifacts.addAll(complete("module-1.0.0-sources.jar", "sources"));
+		assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> this.validator.validate(artifacts));
+		assertThat(output).contains("module-1.0.0.pom has no module-1.0.0-javadoc.jar")
+			.doesNotContain("module-1.0.0-sources.jar");
+	}
+
+	@Test
+	void validateWhenPomInheritsElementsFromParentInReleaseDoesNotThrow() throws IOException {
+		String parent = POM.replace("<artifactId>module</artifactId>", "<artifactId>parent</artifactId>");
+		String pom = """
+				<project>
+					<parent>
+						<groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0.0</version>
+					</parent>
+					<artifactId>module</artifactId>
+				</project>
+				""";
+		List<DeployableArtifact> artifacts = new ArrayList<>(complete("parent-1.0.0.pom", parent));
+		artifacts.addAll(complete("module-1.0.0.pom", pom));
+		assertThatNoException().isThrownBy(() -> this.validator.validate(artifacts));
+	}
+
+	@Test
+	void validateWhenPomHasParentOutsideOfReleaseDoesNotThrow() throws IOException {
+		String pom = """
+				<project>
+					<parent>
+						<groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0.0</version>
+					</parent>
+					<artifactId>module</artifactId>
+				</project>
+				""";
+		List<DeployableArtifact> artifacts = complete("module-1.0.0.pom", pom);
+		assertThatNoException().isThrownBy(() -> this.validator.validate(artifacts));
+	}
+
+	@Test
+	void validateWhenPomIsIncompleteThrows(CapturedOutput output) throws IOException {
+		String parent = """
+				<project>
+					<groupId>org.example</groupId>
+					<artifactId>parent</artifactId>
+					<version>1.0.0-SNAPSHOT</version>
+					<name>parent</name>
+				</project>
+				""";
+		String pom = """
+				<project>
+					<parent>
+						<groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0.0-SNAPSHOT</version>
+					</parent>
+					<artifactId>module</artifactId>
+					<version>1.0.0-SNAPSHOT</version>
+					<scm><connection>scm:git:git://github.com/example/module.git</connection></scm>
+				</project>
+				""";
+		List<DeployableArtifact> artifacts = new ArrayList<>(complete("parent-1.0.0.pom", parent));
+		artifacts.addAll(complete("module-1.0.0.pom", pom));
+		assertThatExceptionOfType(RuntimeException.class).isThrownBy(() -> this.validator.validate(artifacts));
+		assertThat(output).contains("module-1.0.0.pom has a snapshot <version>")
+			.contains("module-1.0.0.pom has no <description>")
+			.contains("module-1.0.0.pom has no <url>")
+			.contains("module-1.0.0.pom has no <licenses>")
+			.contains("module-1.0.0.pom has no <developers>")
+			.contains("module-1.0.0.pom has no <scm><url>")
+			.doesNotContain("module-1.0.0.pom has no <name>")
+			.doesNotContain("has no <groupId>");
+	}
+
+	private List<DeployableArtifact> complete(String name, String content) throws IOException {
+		return List.of(artifact(name, content), artifact(name + ".asc", "signature"), artifact(name + ".md5", "md5"),
+				artifact(name + ".sha1", "sha1"));
+	}
+
+	private DeployableArtifact artifact(String name, String content) throws IOException {
+		Path path = Files.writeString(this.temp.resolve(name), content);
+		return new DeployableArtifact(new PathResource(path), name, content.length());
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UploadJournal}.
+ */
+class UploadJournalTests {
+
+	@TempDir
+	Path temp;
+
+	private final DeployableArtifact one = artifact("one.jar", "one");
+
+	private final DeployableArtifact two = artifact("two.jar", "two");
+
+	@Test
+	void loadWhenFileDoesNotExistIsEmpty() {
+		UploadJournal journal = UploadJournal.load(this.temp.resolve("journal"), "build-1");
+		assertThat(journal.getRepositoryId()).isNull();
+		assertThat(journal.pending(List.of(this.one, this.two))).containsExactly(this.one, this.two);
+	}
+
+	@Test
+	void loadReturnsRecordedRepositoryAndArtifacts() {
+		Path file = this.temp.resolve("journal");
+		UploadJournal journal = UploadJournal.load(file, "build-1");
+		journal.start("example-1234");
+		journal.deployed(this.one, UploadJournal.checksum(this.one));
+		UploadJournal reloaded = UploadJournal.load(file, "build-1");
+		assertThat(reloaded.getRepositoryId()).isEqualTo("example-1234");
+		assertThat(reloaded.pending(List.of(this.one, this.two))).containsExactly(this.two);
+	}
+
+	@Test
+	void pendingIncludesArtifactsWhoseContentHasChanged() {
+		Path file = this.temp.resolve("journal");
+		UploadJournal journal = UploadJournal.load(file, "build-1");
+		journal.start("example-1234");
+		journal.deployed(this.one, UploadJournal.checksum(this.one));
+		DeployableArtifact changed = artifact("one.jar", "changed");
+		assertThat(UploadJournal.load(file, "build-1").pending(List.of(changed))).containsExactly(changed);
+	}
+
+	@Test
+	void loadIgnoresJournalOfDifferentBuild() {
+		Path file = this.temp.resolve("journal");
+		UploadJournal journal = UploadJournal.load(file, "build-1");
+		journal.start("example-1234");
+		journal.deployed(this.one, UploadJournal.checksum(this.one));
+		UploadJournal other = UploadJournal.load(file, "build-2");
+		assertThat(other.getRepositoryId()).isNull();
+		assertThat(other.pending(List.of(this.one))).containsExactly(this.one);
+	}
+
+	@Test
+	void resumeAppendsToExistingEntries() throws IOException {
+		Path file = this.temp.resolve("journal");
+		UploadJournal journal = UploadJournal.load(file, "build-1");
+		journal.start("example-1234");
+		journal.deployed(this.one, UploadJournal.checksum(this.one));
+		UploadJournal resumed = UploadJournal.load(file, "build-1");
+		resumed.resume();
+		resumed.deployed(this.two, UploadJournal.checksum(this.two));
+		assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).hasSize(4);
+		assertThat(UploadJournal.load(file, "build-1").pending(List.of(this.one, this.two))).isEmpty();
+	}
+
+	@Test
+	void deleteRemovesFile() {
+		Path file = this.temp.resolve("journal");
+		UploadJournal journal = UploadJournal.load(file, "build-1");
+		journal.start("example-1234");
+		journal.delete();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void journalWithoutFileRecordsNothing() {
+		UploadJournal journal = UploadJournal.load(null, "build-1");
+		journal.start("example-1234");
+		journal.deployed(this.one, UploadJournal.checksum(this.one));
+		journal.delete();
+		assertThat(this.temp).isEmptyDirectory();
+	}
+
+	private static DeployableArtifact artifact(String path, String content) {
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		return new DeployableArtifact(new ByteArrayResource(bytes), path, bytes.length);
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UploadPlan}.
+ */
+class UploadPlanTests {
+
+	private final List<DeployableArtifact> artifacts = List.of(artifact("a.pom", 10), artifact("b.jar", 20),
+			artifact("c.pom", 10), artifact("d.zip", 40));
+
+	@Test
+	void collectedOrderIsPreserved() {
+		UploadPlan plan = UploadPlan.of(this.artifacts, UploadOrder.COLLECTED);
+		assertThat(plan.getArtifacts()).extracting(DeployableArtifact::getPath)
+			.containsExactly("a.pom", "b.jar", "c.pom", "d.zip");
+	}
+
+	@Test
+	void largestFirstOrderSortsBySizeDescending() {
+		UploadPlan plan = UploadPlan.of(this.artifacts, UploadOrder.LARGEST_FIRST);
+		assertThat(plan.getArtifacts()).extracting(DeployableArtifact::getPath)
+			.containsExactly("d.zip", "b.jar", "a.pom", "c.pom");
+	}
+
+	@Test
+	void busiestUploadBytesReflectsOrder() {
+		assertThat(UploadPlan.of(this.artifacts, UploadOrder.COLLECTED).getBusiestUploadBytes(2)).isEqualTo(60);
+		assertThat(UploadPlan.of(this.artifacts, UploadOrder.LARGEST_FIRST).getBusiestUploadBytes(2)).isEqualTo(40);
+		assertThat(UploadPlan.of(this.artifacts, UploadOrder.LARGEST_FIRST).getBusiestUploadBytes(1)).isEqualTo(80);
+	}
+
+	@Test
+	void totalBytes() {
+		assertThat(UploadPlan.of(this.artifacts, UploadOrder.COLLECTED).getTotalBytes()).isEqualTo(80);
+	}
+
+	private static DeployableArtifact artifact(String path, int size) {
+		return new DeployableArtifact(new ByteArrayResource(new byte[size]), path, size);
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.spring.concourse.releasescripts.http.HttpClientConfiguration;
+import io.spring.concourse.releasescripts.http.HttpClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.PathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ArtifactUploadRequestCallback} and {@link BundleRequestCallback} that
+ * upload to a local server using the request factory of {@link HttpClientConfiguration}.
+ */
+class UploadRequestCallbackHttpClientTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+		.withUserConfiguration(PropertiesConfiguration.class, HttpClientConfiguration.class);
+
+	private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+
+	private final AtomicReference<String> receivedContentLength = new AtomicReference<>();
+
+	private final AtomicReference<String> receivedContentType = new AtomicReference<>();
+
+	private HttpServer server;
+
+	@TempDir
+	Path temp;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/", this::handle);
+		this.server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		this.server.stop(0);
+	}
+
+	@Test
+	void doWithRequestStreamsArtifactThroughSharedRequestFactory() throws IOException {
+		byte[] content = new byte[300 * 1024];
+		new Random().nextBytes(content);
+		Path jar = Files.write(this.temp.resolve("example-1.0.0.jar"), content);
+		ArtifactUploadRequestCallback callback = new ArtifactUploadRequestCallback(
+				new DeployableArtifact(new PathResource(jar), "example-1.0.0.jar", content.length));
+		this.contextRunner.run((context) -> {
+			RestTemplate restTemplate = context.getBean(RestTemplateBuilder.class).build();
+			restTemplate.execute(url("/example-1.0.0.jar"), HttpMethod.PUT, callback, null);
+		});
+		assertThat(this.receivedContentLength.get()).isEqualTo(String.valueOf(content.length));
+		assertThat(this.receivedBody.get()).isEqualTo(content);
+	}
+
+	@Test
+	void doWithRequestStreamsBundleThroughSharedRequestFactory() throws IOException {
+		byte[] content = new byte[300 * 1024];
+		new Random().nextBytes(content);
+		Path jar = Files.write(this.temp.resolve("example-1.0.0.jar"), content);
+		BundleRequestCallback callback = new BundleRequestCallback(List
+			.of(new DeployableArtifact(new PathResource(jar), "org/example/example/1.0.0/example-1.0.0.jar",
+					content.length)));
+		this.contextRunner.run((context) -> {
+			RestTemplate restTemplate = context.getBean(RestTemplateBuilder.class).build();
+			restTemplate.execute(url("/api/v1/publisher/upload"), HttpMethod.POST, callback, null);
+		});
+		assertThat(this.receivedContentType.get()).startsWith("multipart/form-data");
+		byte[] body = this.receivedBody.get();
+		int headersEnd = new String(body, StandardCharsets.ISO_8859_1).indexOf("\r\n\r\n") + 4;
+		try (ZipInputStream zip = new ZipInputStream(
+				new ByteArrayInputStream(body, headersEnd, body.length - headersEnd))) {
+			ZipEntry entry = zip.getNextEntry();
+			assertThat(entry.getName()).isEqualTo("org/example/example/1.0.0/example-1.0.0.jar");
+			assertThat(zip.readAllBytes()).isEqualTo(content);
+		}
+	}
+
+	private String url(String path) {
+		return "http://localhost:" + this.server.getAddress().getPort() + path;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (InputStream body = exchange.getRequestBody()) {
+			this.receivedContentLength.set(exchange.getRequestHeaders().getFirst("Content-Length"));
+			this.receivedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+			this.receivedBody.set(body.readAllBytes());
+		}
+		exchange.sendResponseHeaders(201, -1);
+		exchange.close();
+	}
+
+	@EnableConfigurationProperties({ HttpClientProperties.class, SonatypeProperties.class })
+	static class PropertiesConfiguration {
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.sonatype;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.spring.concourse.releasescripts.standin.StandInServer;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link UploadScope}.
+ */
+class UploadScopeTests {
+
+	@Test
+	void joinWhenAllUploadsSucceedReturns() throws Exception {
+		try (UploadScope scope = new UploadScope()) {
+			CountDownLatch uploaded = new CountDownLatch(3);
+			for (int i = 0; i < 3; i++) {
+				assertThat(scope.fork("artifact-" + i, uploaded::countDown)).isTrue();
+			}
+			scope.join(deadline(Duration.ofSeconds(10)));
+			assertThat(uploaded.getCount()).isZero();
+			assertThat(scope.isFailed()).isFalse();
+		}
+	}
+
+	@Test
+	void joinWhenUploadFailsCancelsInFlightUploadsAndReportsFailure() throws Exception {
+		try (UploadScope scope = new UploadScope()) {
+			CountDownLatch inFlight = new CountDownLatch(1);
+			AtomicBoolean interrupted = new AtomicBoolean();
+			scope.fork("slow.jar", () -> {
+				inFlight.countDown();
+				try {
+					Thread.sleep(Duration.ofMinutes(1).toMillis());
+				}
+				catch (InterruptedException ex) {
+					interrupted.set(true);
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("Cancelled", ex);
+				}
+			});
+			assertThat(inFlight.await(10, TimeUnit.SECONDS)).isTrue();
+			scope.fork("bad.pom", () -> {
+				throw new IllegalStateException("400 Bad Request");
+			});
+			long start = System.nanoTime();
+			assertThatExceptionOfType(UploadScope.UploadFailedException.class)
+				.isThrownBy(() -> scope.join(deadline(Duration.ofMinutes(5))))
+				.withMessage(
+						"1 upload(s) failed and 1 in-flight upload(s) were cancelled:\n    bad.pom: 400 Bad Request")
+				.withCauseInstanceOf(IllegalStateException.class);
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+			assertThat(interrupted).isTrue();
+			assertThat(scope.isFailed()).isTrue();
+			assertThat(scope.fork("later.jar", () -> {
+			})).isFalse();
+		}
+	}
+
+	@Test
+	void joinWhenDeadlinePassesCancelsInFlightUploads() throws Exception {
+		try (UploadScope scope = new UploadScope()) {
+			AtomicBoolean interrupted = new AtomicBoolean();
+			CountDownLatch finished = new CountDownLatch(1);
+			scope.fork("slow.jar", () -> {
+				try {
+					Thread.sleep(Duration.ofMinutes(1).toMillis());
+				}
+				catch (InterruptedException ex) {
+					interrupted.set(true);
+				}
+				finished.countDown();
+			});
+			assertThatExceptionOfType(TimeoutException.class)
+				.isThrownBy(() -> scope.join(deadline(Duration.ofMillis(50))));
+			assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(interrupted).isTrue();
+		}
+	}
+
+	@Test
+	void joinWhenUploadFailsAbortsInFlightRequestsAwaitingResponse() throws Exception {
+		try (StandInServer server = new StandInServer().withDeployStall(Duration.ofMinutes(1)).start()) {
+			RestTemplate restTemplate = server.restTemplateBuilder(2).build();
+			String url = server.getUrl() + "/service/local/staging/deployByRepositoryId/example-1000/stalled.jar";
+			AtomicReference<Thread> uploader = new AtomicReference<>();
+			long start;
+			try (UploadScope scope = new UploadScope()) {
+				scope.fork("stalled.jar", () -> {
+					uploader.set(Thread.currentThread());
+					restTemplate.put(url, "content");
+				});
+				while (!server.getRequests().contains("PUT " + url.substring(server.getUrl().length()))) {
+					Thread.sleep(10);
+				}
+				scope.fork("bad.pom", () -> {
+					throw new IllegalStateException("400 Bad Request");
+				});
+				start = System.nanoTime();
+				assertThatExceptionOfType(UploadScope.UploadFailedException.class)
+					.isThrownBy(() -> scope.join(deadline(Duration.ofMinutes(5))))
+					.withMessageStartingWith("1 upload(s) failed and 1 in-flight upload(s) were cancelled");
+			}
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+			assertThat(uploader.get().isAlive()).isFalse();
+		}
+	}
+
+	private long deadline(Duration timeout) {
+		return System.nanoTime() + timeout.toNanos();
+	}
+
+}
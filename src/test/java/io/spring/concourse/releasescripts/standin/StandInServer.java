@@ -0,0 +1,618 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.standin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.spring.concourse.releasescripts.http.AbortableClientHttpRequestFactory;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * An embedded stand-in for the Nexus staging API, the Artifactory build promotion API,
+ * and the SDKMAN! vendor API that serves real HTTP requests on a local port. It keeps the
+ * state of staging repositories, promoted builds, and SDKMAN! releases in memory and can
+ * add latency to each response, limit the bandwidth shared by all request bodies, and
+ * fail a fraction of the Nexus staging requests, allowing the services and their HTTP
+ * stack to be tested and benchmarked without a production server.
+ */
+public class StandInServer implements AutoCloseable {
+
+	private static final String STAGING_PATH = "/service/local/staging/";
+
+	private static final String RELEASES_PATH = "/service/local/repositories/releases/content/";
+
+	private static final Pattern START = Pattern.compile(STAGING_PATH + "profiles/([^/]+)/start");
+
+	private static final Pattern FINISH = Pattern.compile(STAGING_PATH + "profiles/([^/]+)/finish");
+
+	private static final Pattern DEPLOY = Pattern.compile(STAGING_PATH + "deployByRepositoryId/([^/]+)/(.+)");
+
+	private static final Pattern REPOSITORY = Pattern.compile(STAGING_PATH + "repository/([^/]+)(/activity)?");
+
+	private static final Pattern BUILD_PROMOTION = Pattern.compile("/api/build/promote/([^/]+)/([^/]+)");
+
+	private static final Pattern BUILD_INFO = Pattern.compile("/api/build/([^/]+)/([^/]+)");
+
+	private static final int BUFFER_SIZE = 16 * 1024;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Map<String, String> stagingProfiles = new LinkedHashMap<>();
+
+	private final Map<String, StagingRepository> stagingRepositories = new ConcurrentHashMap<>();
+
+	private final Map<String, String> published = new ConcurrentHashMap<>();
+
+	private final Map<String, String> promotions = new ConcurrentHashMap<>();
+
+	private final Queue<SdkmanRequest> sdkmanRequests = new ConcurrentLinkedQueue<>();
+
+	private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger repositoryIds = new AtomicInteger(1000);
+
+	private final AtomicInteger promotionsInFlight = new AtomicInteger();
+
+	private final AtomicInteger peakPromotionsInFlight = new AtomicInteger();
+
+	private final AtomicLong nextAvailable = new AtomicLong(System.nanoTime());
+
+	private final List<CloseableHttpClient> httpClients = new ArrayList<>();
+
+	private Duration latency = Duration.ZERO;
+
+	private long bytesPerSecond;
+
+	private double errorRate;
+
+	private int errorStatus = 503;
+
+	private Duration closeDuration = Duration.ZERO;
+
+	private Duration promotionDuration = Duration.ZERO;
+
+	private Duration deployStall = Duration.ZERO;
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	public StandInServer() {
+		this.stagingProfiles.put("org.example", "2e3ed47dc2510");
+	}
+
+	/**
+	 * Adds a staging profile.
+	 * @param name the name of the profile
+	 * @param id the ID of the profile
+	 * @return this server
+	 */
+	public StandInServer withStagingProfile(String name, String id) {
+		this.stagingProfiles.put(name, id);
+		return this;
+	}
+
+	/**
+	 * Sets the latency that is added to each response.
+	 * @param latency the latency
+	 * @return this server
+	 */
+	public StandInServer withLatency(Duration latency) {
+		this.latency = latency;
+		return this;
+	}
+
+	/**
+	 * Sets the bandwidth, per second, that is shared by all request bodies.
+	 * @param bandwidth the bandwidth or {@code null} for no limit
+	 * @return this server
+	 */
+	public StandInServer withBandwidth(DataSize bandwidth) {
+		this.bytesPerSecond = (bandwidth != null) ? bandwidth.toBytes() : 0;
+		return this;
+	}
+
+	/**
+	 * Sets the fraction of Nexus staging requests that fail with the given status.
+	 * @param rate the fraction of requests, between 0 and 1
+	 * @param status the status of a failed request
+	 * @return this server
+	 */
+	public StandInServer withErrors(double rate, int status) {
+		this.errorRate = rate;
+		this.errorStatus = status;
+		return this;
+	}
+
+	/**
+	 * Sets the time that a staging repository transitions for once its close has been
+	 * requested.
+	 * @param closeDuration the duration of a close
+	 * @return this server
+	 */
+	public StandInServer withCloseDuration(Duration closeDuration) {
+		this.closeDuration = closeDuration;
+		return this;
+	}
+
+	/**
+	 * Sets the time that a build promotion takes. The build's status is updated and the
+	 * promotion request is answered once it has elapsed.
+	 * @param promotionDuration the duration of a promotion
+	 * @return this server
+	 */
+	public StandInServer withPromotionDuration(Duration promotionDuration) {
+		this.promotionDuration = promotionDuration;
+		return this;
+	}
+
+	/**
+	 * Sets the time for which the response to each artifact deploy is withheld once the
+	 * artifact has been received.
+	 * @param deployStall the duration of the stall
+	 * @return this server
+	 */
+	public StandInServer withDeployStall(Duration deployStall) {
+		this.deployStall = deployStall;
+		return this;
+	}
+
+	/**
+	 * Starts the server on an ephemeral port of the loopback address.
+	 * @return this server
+	 * @throws IOException if the server cannot be started
+	 */
+	public StandInServer start() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128);
+		this.executor = Executors.newCachedThreadPool((task) -> {
+			Thread thread = new Thread(task, "stand-in-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/", this::handle);
+		this.server.start();
+		return this;
+	}
+
+	/**
+	 * Returns the URL of the server.
+	 * @return the URL
+	 */
+	public String getUrl() {
+		return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns a {@link RestTemplateBuilder} that uses a pooled, keep-alive HTTP client
+	 * like the one used by the application. The client is closed with the server.
+	 * @param maxConnections the maximum number of connections to the server
+	 * @return the builder
+	 */
+	public RestTemplateBuilder restTemplateBuilder(int maxConnections) {
+		CloseableHttpClient httpClient = HttpClients.custom()
+			.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnPerRoute(maxConnections)
+				.setMaxConnTotal(maxConnections)
+				.build())
+			.disableAutomaticRetries()
+			.build();
+		synchronized (this.httpClients) {
+			this.httpClients.add(httpClient);
+		}
+		return new RestTemplateBuilder().requestFactory(() -> {
+			HttpComponentsClientHttpRequestFactory requestFactory = new AbortableClientHttpRequestFactory(httpClient);
+			requestFactory.setBufferRequestBody(false);
+			return requestFactory;
+		});
+	}
+
+	/**
+	 * Returns the method and path of each request that has been received.
+	 * @return the requests
+	 */
+	public List<String> getRequests() {
+		return List.copyOf(this.requests);
+	}
+
+	/**
+	 * Returns the staging repositories that have been created.
+	 * @return the staging repositories
+	 */
+	public List<StagingRepository> getStagingRepositories() {
+		return this.stagingRepositories.values()
+			.stream()
+			.sorted((first, second) -> first.getId().compareTo(second.getId()))
+			.toList();
+	}
+
+	/**
+	 * Returns the SHA-1 checksums of the released artifacts, keyed by path.
+	 * @return the released artifacts
+	 */
+	public Map<String, String> getPublishedArtifacts() {
+		return Map.copyOf(this.published);
+	}
+
+	/**
+	 * Returns the target repository of each promoted build, keyed by build name and
+	 * number separated by {@code /}.
+	 * @return the promoted builds
+	 */
+	public Map<String, String> getPromotions() {
+		return Map.copyOf(this.promotions);
+	}
+
+	/**
+	 * Returns the largest number of build promotions that have been in progress at the
+	 * same time.
+	 * @return the peak number of promotions in flight
+	 */
+	public int getPeakPromotionsInFlight() {
+		return this.peakPromotionsInFlight.get();
+	}
+
+	/**
+	 * Returns the requests that have been made to the SDKMAN! vendor API.
+	 * @return the SDKMAN! requests
+	 */
+	public List<SdkmanRequest> getSdkmanRequests() {
+		return List.copyOf(this.sdkmanRequests);
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this.httpClients) {
+			for (CloseableHttpClient httpClient : this.httpClients) {
+				httpClient.close();
+			}
+		}
+		if (this.server != null) {
+			this.server.stop(0);
+			this.executor.shutdownNow();
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath().replaceAll("/{2,}", "/");
+			this.requests.add(method + " " + path);
+			Body body = readBody(exchange.getRequestBody());
+			sleep(this.latency);
+			if (DEPLOY.matcher(path).matches()) {
+				sleep(this.deployStall);
+			}
+			if (path.startsWith(STAGING_PATH) && this.errorRate > 0
+					&& ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+				respond(exchange, this.errorStatus, null);
+				return;
+			}
+			Response response = route(method, path, body);
+			exchange.getResponseHeaders().putAll(response.headers());
+			respond(exchange, response.status(), response.body());
+		}
+		catch (RuntimeException ex) {
+			respond(exchange, 500, Map.of("error", ex.toString()));
+		}
+	}
+
+	private Response route(String method, String path, Body body) throws IOException {
+		Matcher matcher;
+		if (method.equals("GET") && path.equals(STAGING_PATH + "profiles")) {
+			return profiles();
+		}
+		if (method.equals("POST") && (matcher = START.matcher(path)).matches()) {
+			return start(matcher.group(1));
+		}
+		if (method.equals("PUT") && (matcher = DEPLOY.matcher(path)).matches()) {
+			return deploy(matcher.group(1), matcher.group(2), body);
+		}
+		if (method.equals("POST") && (matcher = FINISH.matcher(path)).matches()) {
+			return finish(matcher.group(1), body);
+		}
+		if (method.equals("GET") && (matcher = REPOSITORY.matcher(path)).matches()) {
+			return repository(matcher.group(1), matcher.group(2) != null);
+		}
+		if (method.equals("POST") && path.equals(STAGING_PATH + "bulk/promote")) {
+			return release(body);
+		}
+		if ((method.equals("GET") || method.equals("HEAD")) && path.startsWith(RELEASES_PATH)) {
+			return releasedArtifact(path.substring(RELEASES_PATH.length()));
+		}
+		if (method.equals("POST") && (matcher = BUILD_PROMOTION.matcher(path)).matches()) {
+			return promoteBuild(matcher.group(1) + "/" + matcher.group(2), body);
+		}
+		if (method.equals("GET") && (matcher = BUILD_INFO.matcher(path)).matches()) {
+			return buildInfo(matcher.group(1), matcher.group(2));
+		}
+		if (path.equals("/release") || path.equals("/default") || path.equals("/announce/struct")) {
+			this.sdkmanRequests.add(new SdkmanRequest(method, path, json(body)));
+			return Response.of(200, Map.of("status", 200, "message", "success"));
+		}
+		return Response.of(404, null);
+	}
+
+	private Response profiles() {
+		List<Map<String, String>> profiles = new ArrayList<>();
+		this.stagingProfiles.forEach((name, id) -> profiles.add(Map.of("id", id, "name", name)));
+		return Response.of(200, Map.of("data", profiles));
+	}
+
+	private Response start(String stagingProfileId) {
+		if (!this.stagingProfiles.containsValue(stagingProfileId)) {
+			return Response.of(404, null);
+		}
+		String id = "staging-" + this.repositoryIds.incrementAndGet();
+		this.stagingRepositories.put(id, new StagingRepository(id, stagingProfileId));
+		return Response.of(201, Map.of("data", Map.of("stagedRepositoryId", id)));
+	}
+
+	private Response deploy(String repositoryId, String path, Body body) {
+		StagingRepository repository = this.stagingRepositories.get(repositoryId);
+		if (repository == null) {
+			return Response.of(404, null);
+		}
+		if (!repository.getState().equals("open")) {
+			return Response.of(400, null);
+		}
+		repository.artifacts.put(path, body.sha1());
+		return Response.of(201, null);
+	}
+
+	private Response finish(String stagingProfileId, Body body) throws IOException {
+		String repositoryId = json(body).path("data").path("stagedRepositoryId").asText();
+		StagingRepository repository = this.stagingRepositories.get(repositoryId);
+		if (repository == null || !repository.stagingProfileId.equals(stagingProfileId)) {
+			return Response.of(404, null);
+		}
+		repository.close(System.nanoTime() + this.closeDuration.toNanos());
+		return Response.of(201, null);
+	}
+
+	private Response repository(String repositoryId, boolean activity) {
+		StagingRepository repository = this.stagingRepositories.get(repositoryId);
+		if (repository == null) {
+			return Response.of(404, null);
+		}
+		if (activity) {
+			return Response.of(200, List.of());
+		}
+		String state = repository.getState();
+		return Response.of(200,
+				Map.of("type", state.equals("closing") ? "open" : state, "transitioning", state.equals("closing")));
+	}
+
+	private Response release(Body body) throws IOException {
+		for (JsonNode id : json(body).path("data").path("stagedRepositoryIds")) {
+			StagingRepository repository = this.stagingRepositories.get(id.asText());
+			if (repository == null || !repository.getState().equals("closed")) {
+				return Response.of(400, null);
+			}
+		}
+		for (JsonNode id : json(body).path("data").path("stagedRepositoryIds")) {
+			StagingRepository repository = this.stagingRepositories.get(id.asText());
+			repository.released = true;
+			this.published.putAll(repository.artifacts);
+		}
+		return Response.of(201, null);
+	}
+
+	private Response releasedArtifact(String path) {
+		String sha1 = this.published.get(path);
+		if (sha1 == null) {
+			return Response.of(404, null);
+		}
+		return new Response(200, Map.of("X-Checksum-Sha1", List.of(sha1)), null);
+	}
+
+	private Response promoteBuild(String build, Body body) throws IOException {
+		this.peakPromotionsInFlight.accumulateAndGet(this.promotionsInFlight.incrementAndGet(), Math::max);
+		try {
+			sleep(this.promotionDuration);
+			this.promotions.put(build, json(body).path("targetRepo").asText());
+			return Response.of(200, Map.of("messages", List.of()));
+		}
+		finally {
+			this.promotionsInFlight.decrementAndGet();
+		}
+	}
+
+	private Response buildInfo(String name, String number) {
+		String repository = this.promotions.get(name + "/" + number);
+		if (repository == null) {
+			return Response.of(404, null);
+		}
+		Map<String, Object> status = Map.of("status", "staged", "repository", repository);
+		return Response.of(200,
+				Map.of("buildInfo", Map.of("name", name, "number", number, "statuses", List.of(status))));
+	}
+
+	private JsonNode json(Body body) throws IOException {
+		return (body.content().length > 0) ? this.objectMapper.readTree(body.content())
+				: this.objectMapper.createObjectNode();
+	}
+
+	private Body readBody(InputStream input) throws IOException {
+		MessageDigest digest = sha1();
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read;
+		while ((read = input.read(buffer)) != -1) {
+			throttle(read);
+			digest.update(buffer, 0, read);
+			content.write(buffer, 0, Math.min(read, BUFFER_SIZE - content.size()));
+		}
+		return new Body(content.toByteArray(), HexFormat.of().formatHex(digest.digest()));
+	}
+
+	private void throttle(int bytes) {
+		if (this.bytesPerSecond <= 0) {
+			return;
+		}
+		long cost = bytes * TimeUnit.SECONDS.toNanos(1) / this.bytesPerSecond;
+		long now = System.nanoTime();
+		long start = this.nextAvailable.getAndAccumulate(now, (next, time) -> Math.max(next, time) + cost);
+		sleep(Duration.ofNanos(Math.max(start, now) - now));
+	}
+
+	private void sleep(Duration duration) {
+		if (duration.isZero() || duration.isNegative()) {
+			return;
+		}
+		try {
+			Thread.sleep(duration.toMillis(), (int) (duration.toNanos() % 1_000_000));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+		if (body == null || exchange.getRequestMethod().equals("HEAD")) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+		byte[] content = this.objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, content.length);
+		exchange.getResponseBody().write(content);
+	}
+
+	private static MessageDigest sha1() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * A staging repository and the SHA-1 checksums of the artifacts deployed to it.
+	 */
+	public static final class StagingRepository {
+
+		private final String id;
+
+		private final String stagingProfileId;
+
+		private final Map<String, String> artifacts = new ConcurrentHashMap<>();
+
+		private volatile boolean closeRequested;
+
+		private volatile long closedAt;
+
+		private volatile boolean released;
+
+		private StagingRepository(String id, String stagingProfileId) {
+			this.id = id;
+			this.stagingProfileId = stagingProfileId;
+		}
+
+		public String getId() {
+			return this.id;
+		}
+
+		public String getStagingProfileId() {
+			return this.stagingProfileId;
+		}
+
+		public Map<String, String> getArtifacts() {
+			return Map.copyOf(this.artifacts);
+		}
+
+		/**
+		 * Returns the state of the repository, one of {@code open}, {@code closing},
+		 * {@code closed}, or {@code released}.
+		 * @return the state
+		 */
+		public String getState() {
+			if (this.released) {
+				return "released";
+			}
+			if (!this.closeRequested) {
+				return "open";
+			}
+			return (System.nanoTime() - this.closedAt < 0) ? "closing" : "closed";
+		}
+
+		private void close(long closedAt) {
+			this.closedAt = closedAt;
+			this.closeRequested = true;
+		}
+
+	}
+
+	/**
+	 * A request made to the SDKMAN! vendor API.
+	 *
+	 * @param method the method of the request
+	 * @param path the path of the request
+	 * @param body the JSON body of the request
+	 */
+	public record SdkmanRequest(String method, String path, JsonNode body) {
+
+	}
+
+	private record Body(byte[] content, String sha1) {
+
+	}
+
+	private record Response(int status, Map<String, List<String>> headers, Object body) {
+
+		static Response of(int status, Object body) {
+			return new Response(status, Map.of(), body);
+		}
+
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.standin;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import io.spring.concourse.releasescripts.ReleaseInfo;
+import io.spring.concourse.releasescripts.ReleaseType;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryProperties;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryService;
+import io.spring.concourse.releasescripts.artifactory.PromotionMode;
+import io.spring.concourse.releasescripts.sdkman.SdkmanProperties;
+import io.spring.concourse.releasescripts.standin.StandInServer.SdkmanRequest;
+import io.spring.concourse.releasescripts.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link StandInServer}.
+ */
+class StandInServerTests {
+
+	private final StandInServer server = new StandInServer();
+
+	private final TestServices services = new TestServices();
+
+	@AfterEach
+	void tearDown() throws IOException {
+		this.server.close();
+	}
+
+	@Test
+	void promoteBuildWithArtifactoryService() throws IOException {
+		this.server.start();
+		ArtifactoryProperties properties = new ArtifactoryProperties();
+		properties.setUrl(this.server.getUrl());
+		ArtifactoryService service = this.services.artifactoryService(this.server.restTemplateBuilder(2), properties);
+		ReleaseInfo releaseInfo = new ReleaseInfo();
+		releaseInfo.setBuildName("example-build");
+		releaseInfo.setBuildNumber("example-build-1");
+		service.promote(ReleaseType.RELEASE, releaseInfo);
+		assertThat(this.server.getPromotions()).containsEntry("example-build/example-build-1", "libs-release-local");
+		service.promote(ReleaseType.RELEASE, releaseInfo);
+		assertThat(this.server.getRequests()).containsExactly("POST /api/build/promote/example-build/example-build-1",
+				"POST /api/build/promote/example-build/example-build-1");
+	}
+
+	@Test
+	void promoteBuildAsynchronouslyWithArtifactoryService() throws IOException {
+		this.server.withPromotionDuration(Duration.ofMillis(500)).start();
+		ArtifactoryProperties properties = new ArtifactoryProperties();
+		properties.setUrl(this.server.getUrl());
+		properties.getPromotion().setMode(PromotionMode.ASYNCHRONOUS);
+		properties.getPromotion().setRequestTimeout(Duration.ofMillis(50));
+		properties.getPromotion().setInitialPollingInterval(Duration.ofMillis(10));
+		properties.getPromotion().setPollingInterval(Duration.ofMillis(50));
+		ArtifactoryService service = this.services.artifactoryService(this.server.restTemplateBuilder(2), properties);
+		ReleaseInfo releaseInfo = new ReleaseInfo();
+		releaseInfo.setBuildName("example-build");
+		releaseInfo.setBuildNumber("example-build-1");
+		service.promote(ReleaseType.RELEASE, releaseInfo);
+		assertThat(this.server.getPromotions()).containsEntry("example-build/example-build-1", "libs-release-local");
+		assertThat(this.server.getRequests()).contains("POST /api/build/promote/example-build/example-build-1",
+				"GET /api/build/example-build/example-build-1");
+	}
+
+	@Test
+	void publishWithSdkmanService() throws IOException {
+		this.server.start();
+		SdkmanProperties properties = new SdkmanProperties();
+		properties.setUrl(this.server.getUrl());
+		properties.setCandidate("springboot");
+		properties.setArtifact("org.springframework.boot:spring-boot-cli:*:zip:bin");
+		this.services.sdkmanService(this.server.restTemplateBuilder(2), properties).publish("1.2.3", true);
+		assertThat(this.server.getSdkmanRequests()).extracting(SdkmanRequest::method, SdkmanRequest::path)
+			.containsExactly(tuple("POST", "/release"), tuple("PUT", "/default"), tuple("POST", "/announce/struct"));
+		assertThat(this.server.getSdkmanRequests().get(0).body().path("version").asText()).isEqualTo("1.2.3");
+	}
+
+	@Test
+	void responsesAreDelayedByLatency() throws IOException {
+		this.server.withLatency(Duration.ofMillis(100)).start();
+		RestTemplate restTemplate = this.server.restTemplateBuilder(1).rootUri(this.server.getUrl()).build();
+		long start = System.nanoTime();
+		restTemplate.getForObject("/service/local/staging/profiles", String.class);
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+	}
+
+	@Test
+	void requestBodiesAreLimitedByBandwidth() throws IOException {
+		this.server.withBandwidth(DataSize.ofKilobytes(512)).start();
+		RestTemplate restTemplate = this.server.restTemplateBuilder(1).rootUri(this.server.getUrl()).build();
+		long start = System.nanoTime();
+		assertThatExceptionOfType(HttpClientErrorException.NotFound.class).isThrownBy(() -> restTemplate.execute(
+				"/service/local/staging/deployByRepositoryId/unknown/example.jar", HttpMethod.PUT,
+				(request) -> ((StreamingHttpOutputMessage) request).setBody((body) -> body.write(new byte[256 * 1024])),
+				null));
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(400));
+	}
+
+}
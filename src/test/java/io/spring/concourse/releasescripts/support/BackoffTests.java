@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.support;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link Backoff}.
+ */
+class BackoffTests {
+
+	private final Backoff backoff = new Backoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+	@Test
+	void ceilingDoublesWithEachRetryUntilMaximum() {
+		assertThat(this.backoff.getCeiling(1)).isEqualTo(Duration.ofMillis(100));
+		assertThat(this.backoff.getCeiling(2)).isEqualTo(Duration.ofMillis(200));
+		assertThat(this.backoff.getCeiling(4)).isEqualTo(Duration.ofMillis(800));
+		assertThat(this.backoff.getCeiling(5)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(this.backoff.getCeiling(100)).isEqualTo(Duration.ofSeconds(1));
+	}
+
+	@Test
+	void delayIsBetweenZeroAndCeiling() {
+		for (int retry = 1; retry < 10; retry++) {
+			for (int i = 0; i < 100; i++) {
+				assertThat(this.backoff.getDelay(retry)).isBetween(Duration.ZERO, this.backoff.getCeiling(retry));
+			}
+		}
+	}
+
+	@Test
+	void boundedDelayIsBetweenHalfOfCeilingAndCeiling() {
+		for (int retry = 1; retry < 10; retry++) {
+			for (int i = 0; i < 100; i++) {
+				assertThat(this.backoff.getBoundedDelay(retry)).isBetween(this.backoff.getCeiling(retry).dividedBy(2),
+						this.backoff.getCeiling(retry));
+			}
+		}
+	}
+
+	@Test
+	void maximumLessThanInitialIsRejected() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new Backoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+	}
+
+}
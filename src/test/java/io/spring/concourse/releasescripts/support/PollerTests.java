@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatRuntimeException;
+
+/**
+ * Tests for {@link Poller}.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class PollerTests {
+
+	@Test
+	void pollReturnsStatusOnceComplete(CapturedOutput output) {
+		Poller poller = new Poller(new Backoff(Duration.ofMillis(1), Duration.ofMillis(5)), Duration.ofSeconds(10));
+		AtomicInteger polls = new AtomicInteger();
+		int status = poller.poll("Close", polls::incrementAndGet, (current) -> current == 4);
+		assertThat(status).isEqualTo(4);
+		assertThat(output).contains("Close completed in").contains("after 4 status requests");
+	}
+
+	@Test
+	void pollWhenDeadlinePassesThrowsException() {
+		Poller poller = new Poller(new Backoff(Duration.ofMillis(1), Duration.ofMillis(5)), Duration.ofMillis(50));
+		AtomicInteger polls = new AtomicInteger();
+		long start = System.nanoTime();
+		assertThatRuntimeException().isThrownBy(() -> poller.poll("Close", polls::incrementAndGet, (current) -> false))
+			.withMessage("Close did not complete within PT0.05S");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(polls.get()).isGreaterThan(1);
+	}
+
+	@Test
+	void pollWithoutTimeoutPollsUntilComplete() {
+		Poller poller = new Poller(new Backoff(Duration.ofMillis(1), Duration.ofMillis(2)), null);
+		AtomicInteger polls = new AtomicInteger();
+		int status = poller.poll("Close", polls::incrementAndGet, (current) -> current == 20);
+		assertThat(status).isEqualTo(20);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.concourse.releasescripts.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryProperties;
+import io.spring.concourse.releasescripts.artifactory.ArtifactoryService;
+import io.spring.concourse.releasescripts.sdkman.SdkmanProperties;
+import io.spring.concourse.releasescripts.sdkman.SdkmanService;
+import io.spring.concourse.releasescripts.sonatype.SonatypeProperties;
+import io.spring.concourse.releasescripts.sonatype.SonatypeService;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+/**
+ * Creates services for tests that run without an application context, optionally
+ * recording their metrics and observations in a {@link MeterRegistry}.
+ */
+public final class TestServices {
+
+	private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+	/**
+	 * Create a new {@link TestServices} instance for services without a meter registry.
+	 */
+	public TestServices() {
+	}
+
+	/**
+	 * Create a new {@link TestServices} instance for services that record their metrics
+	 * and observations in the given {@code meterRegistry}.
+	 * @param meterRegistry the meter registry
+	 */
+	public TestServices(MeterRegistry meterRegistry) {
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+		this.beanFactory.addBean("meterRegistry", meterRegistry);
+		this.beanFactory.addBean("observationRegistry", observationRegistry);
+	}
+
+	/**
+	 * Returns a {@link SonatypeService} that uses the given builder and properties.
+	 * @param builder the rest template builder
+	 * @param properties the Sonatype properties
+	 * @return the service
+	 */
+	public SonatypeService sonatypeService(RestTemplateBuilder builder, SonatypeProperties properties) {
+		return new SonatypeService(builder, properties, this.beanFactory.getBeanProvider(MeterRegistry.class),
+				this.beanFactory.getBeanProvider(ObservationRegistry.class));
+	}
+
+	/**
+	 * Returns an {@link ArtifactoryService} that uses the given builder and properties.
+	 * @param builder the rest template builder
+	 * @param properties the Artifactory properties
+	 * @return the service
+	 */
+	public ArtifactoryService artifactoryService(RestTemplateBuilder builder, ArtifactoryProperties properties) {
+		return new ArtifactoryService(builder, properties, this.beanFactory.getBeanProvider(MeterRegistry.class),
+				this.beanFactory.getBeanProvider(ObservationRegistry.class));
+	}
+
+	/**
+	 * Returns an {@link SdkmanService} that uses the given builder and properties.
+	 * @param builder the rest template builder
+	 * @param properties the SDKMAN! properties
+	 * @return the service
+	 */
+	public SdkmanService sdkmanService(RestTemplateBuilder builder, SdkmanProperties properties) {
+		return new SdkmanService(builder, properties, this.beanFactory.getBeanProvider(ObservationRegistry.class));
+	}
+
+}
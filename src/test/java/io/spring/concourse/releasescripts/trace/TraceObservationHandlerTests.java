@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.trace;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link TraceObservationHandler}.
+ */
+class TraceObservationHandlerTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ObservationRegistry registry = ObservationRegistry.create();
+
+	@TempDir
+	Path temp;
+
+	private Path file;
+
+	private TraceRecorder recorder;
+
+	@BeforeEach
+	void setUp() {
+		this.file = this.temp.resolve("trace.json");
+		TraceProperties properties = new TraceProperties();
+		properties.setFile(this.file);
+		this.recorder = new TraceRecorder(properties, this.objectMapper);
+		this.registry.observationConfig().observationHandler(new TraceObservationHandler(this.recorder));
+	}
+
+	@Test
+	void observationIsRecordedAsSpanNamedWithContextualName() throws IOException {
+		Observation.createNotStarted("releasescripts.phase", this.registry)
+			.contextualName("sonatype deploy")
+			.lowCardinalityKeyValue("phase", "deploy")
+			.highCardinalityKeyValue("path", "a/b.jar")
+			.observe(() -> {
+			});
+		JsonNode span = exportedSpan();
+		assertThat(span.get("name").asText()).isEqualTo("sonatype deploy");
+		assertThat(span.get("cat").asText()).isEqualTo("releasescripts.phase");
+		assertThat(span.get("tid").asLong()).isEqualTo(Thread.currentThread().getId());
+		assertThat(span.get("args").get("phase").asText()).isEqualTo("deploy");
+		assertThat(span.get("args").get("path").asText()).isEqualTo("a/b.jar");
+	}
+
+	@Test
+	void failedObservationIsRecordedWithError() throws IOException {
+		assertThatIllegalStateException()
+			.isThrownBy(() -> Observation.createNotStarted("releasescripts.command", this.registry).observe(() -> {
+				throw new IllegalStateException("Failure");
+			}));
+		JsonNode span = exportedSpan();
+		assertThat(span.get("name").asText()).isEqualTo("releasescripts.command");
+		assertThat(span.get("args").get("error").asText()).contains("Failure");
+	}
+
+	@Test
+	void clientRequestIsRecordedAsSpanNamedWithMethodAndUriTemplate() throws IOException {
+		ClientRequestObservationContext context = new ClientRequestObservationContext(
+				new MockClientHttpRequest(HttpMethod.GET, URI.create("/service/local/staging/repository/example-1")));
+		context.setUriTemplate("/service/local/staging/repository/{repositoryId}");
+		ClientHttpObservationDocumentation.HTTP_CLIENT_EXCHANGES
+			.observation(null, new DefaultClientRequestObservationConvention(), () -> context, this.registry)
+			.observe(() -> {
+			});
+		JsonNode span = exportedSpan();
+		assertThat(span.get("name").asText()).isEqualTo("GET /service/local/staging/repository/{repositoryId}");
+		assertThat(span.get("cat").asText()).isEqualTo("http.client.requests");
+	}
+
+	private JsonNode exportedSpan() throws IOException {
+		this.recorder.export();
+		JsonNode events = this.objectMapper.readTree(this.file.toFile()).get("traceEvents");
+		assertThat(events).hasSize(2);
+		return events.get(1);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.concourse.releasescripts.trace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TraceRecorder}.
+ */
+class TraceRecorderTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final TraceProperties properties = new TraceProperties();
+
+	@TempDir
+	Path temp;
+
+	@Test
+	void whenFileIsNotSetIsDisabledAndExportDoesNothing() throws IOException {
+		TraceRecorder recorder = new TraceRecorder(this.properties, this.objectMapper);
+		assertThat(recorder.isEnabled()).isFalse();
+		recorder.record("test", "test", 0, 1, Thread.currentThread(), Map.of());
+		recorder.export();
+		try (var files = Files.list(this.temp)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	void exportWritesCompleteEventsAndThreadNames() throws IOException {
+		Path file = this.temp.resolve("trace/trace.json");
+		this.properties.setFile(file);
+		TraceRecorder recorder = new TraceRecorder(this.properties, this.objectMapper);
+		long start = System.nanoTime();
+		Thread thread = new Thread(() -> {
+		}, "upload-1");
+		recorder.record("upload b", "releasescripts.upload", start + 3_000_000, start + 5_000_000, thread,
+				Map.of("path", "b"));
+		recorder.record("sonatype deploy", "releasescripts.phase", start + 1_000_000, start + 9_000_000,
+				Thread.currentThread(), Map.of("phase", "deploy"));
+		recorder.export();
+		JsonNode events = this.objectMapper.readTree(file.toFile()).get("traceEvents");
+		assertThat(events).hasSize(4);
+		assertThat(events.get(0).get("ph").asText()).isEqualTo("M");
+		assertThat(events.get(0).get("args").get("name").asText()).isEqualTo(Thread.currentThread().getName());
+		assertThat(events.get(1).get("ph").asText()).isEqualTo("M");
+		assertThat(events.get(1).get("tid").asLong()).isEqualTo(thread.getId());
+		assertThat(events.get(1).get("args").get("name").asText()).isEqualTo("upload-1");
+		JsonNode deploy = events.get(2);
+		assertThat(deploy.get("name").asText()).isEqualTo("sonatype deploy");
+		assertThat(deploy.get("cat").asText()).isEqualTo("releasescripts.phase");
+		assertThat(deploy.get("ph").asText()).isEqualTo("X");
+		assertThat(deploy.get("dur").asLong()).isEqualTo(8000);
+		assertThat(deploy.get("tid").asLong()).isEqualTo(Thread.currentThread().getId());
+		assertThat(deploy.get("args").get("phase").asText()).isEqualTo("deploy");
+		JsonNode upload = events.get(3);
+		assertThat(upload.get("name").asText()).isEqualTo("upload b");
+		assertThat(upload.get("ts").asLong() - deploy.get("ts").asLong()).isEqualTo(2000);
+		assertThat(upload.get("dur").asLong()).isEqualTo(2000);
+	}
+
+}